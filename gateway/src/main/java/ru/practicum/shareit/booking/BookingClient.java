@@ -2,56 +2,104 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Hedging;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RouteGuard;
+import ru.practicum.shareit.client.SingleFlight;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory shareitServerRequestFactory, SingleFlight singleFlight,
+                         ResponseCache responseCache, RouteGuard routeGuard, Hedging hedging) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                singleFlight,
+                responseCache,
+                routeGuard,
+                hedging
         );
     }
 
-    public Object addBooking(Long userId, BookingDto bookingDto) {
-        return post("", userId, bookingDto).getBody();
+    public ResponseEntity<byte[]> addBooking(Long userId, BookingDto bookingDto) {
+        return post("", userId, bookingDto);
     }
 
-    public Object statusBooking(Long userId, Long bookingId, String approved) {
+    public ResponseEntity<byte[]> addBookings(Long userId, List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
+    }
+
+    public ResponseEntity<byte[]> statusBooking(Long userId, Long bookingId, String approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null).getBody();
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    }
+
+    public ResponseEntity<byte[]> statusBookings(Long userId, BookingStatusUpdateDto statusUpdateDto) {
+        return patch("/status", userId, statusUpdateDto);
+    }
+
+    public ResponseEntity<byte[]> getBooking(Long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public ResponseEntity<byte[]> getOwnerSummary(Long userId) {
+        return get("/owner/summary", userId);
     }
 
-    public Object getBooking(long userId, Long bookingId) {
-        return get("/" + bookingId, userId).getBody();
+    public ResponseEntity<byte[]> getBookerSummary(Long userId) {
+        return get("/summary", userId);
     }
 
-    public Object getAllBookingsByOwner(Long userId, StatusBooking state, Integer from, Integer size) {
+    public ResponseEntity<byte[]> getAllBookingsByOwner(Long userId, StatusBooking state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters).getBody();
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public Object getAllBookingsByUser(long userId, StatusBooking state, Integer from, Integer size) {
+    public ResponseEntity<byte[]> getAllBookingsByUser(Long userId, StatusBooking state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters).getBody();
+        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<byte[]> getAllBookingsByOwner(Long userId, StatusBooking state, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<byte[]> getAllBookingsByUser(Long userId, StatusBooking state, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
     }
 }
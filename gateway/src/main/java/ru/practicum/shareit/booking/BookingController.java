@@ -1,26 +1,32 @@
 package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.JsonMetadata;
 import ru.practicum.shareit.exception.ValidationException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Validated
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(value = "/bookings",
         consumes = MediaType.ALL_VALUE,
         produces = MediaType.APPLICATION_JSON_VALUE
 )
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final BookingClient bookingClient;
 
     public BookingController(BookingClient bookingClient) {
@@ -28,7 +34,7 @@ public class BookingController {
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> addBooking(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> addBooking(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                              @Valid @RequestBody BookingDto bookingDto) {
 
         // Дата аренды не должна быть в прошлом
@@ -40,20 +46,50 @@ public class BookingController {
             throw new ValidationException(bookingDto.getEnd() + " It can't be in the past");
         }
 
-        ResponseEntity<Object> result = ResponseEntity.ok(bookingClient.addBooking(userId, bookingDto));
+        ResponseEntity<byte[]> result = bookingClient.addBooking(userId, bookingDto);
         log.info("[POST:{}] addBooking[userId:{} bookingId:{}]",
                 result.getStatusCode(),
                 userId,
-                ((Map) result.getBody()).get("id")
+                JsonMetadata.field(result.getBody(), "id")
+        );
+        return result;
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> addBookings(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                              @RequestBody List<@Valid BookingDto> bookingDtos) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+
+        // Даты проверяются сервером для каждой записи отдельно
+        ResponseEntity<byte[]> result = bookingClient.addBookings(userId, bookingDtos);
+        log.info("[POST:{}] addBookings[userId:{} size:{}]",
+                result.getStatusCode(),
+                userId,
+                bookingDtos.size()
+        );
+        return result;
+    }
+
+    @PatchMapping(path = "/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> statusBookings(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                 @Valid @RequestBody BookingStatusUpdateDto statusUpdateDto) {
+        ResponseEntity<byte[]> result = bookingClient.statusBookings(userId, statusUpdateDto);
+        log.info("[PATCH:{}] statusBookings[userId:{} size:{} approved:{}]",
+                result.getStatusCode(),
+                userId,
+                statusUpdateDto.getBookingIds().size(),
+                statusUpdateDto.getApproved()
         );
         return result;
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> statusBooking(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> statusBooking(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                                 @Valid @PathVariable Long bookingId,
                                                 @NotBlank @RequestParam String approved) {
-        ResponseEntity<Object> result = ResponseEntity.ok(bookingClient.statusBooking(userId, bookingId, approved));
+        ResponseEntity<byte[]> result = bookingClient.statusBooking(userId, bookingId, approved);
         log.info("[PATCH:{}] statusBooking[userId:{} bookingId:{} approved:{}]",
                 result.getStatusCode(),
                 userId,
@@ -63,51 +99,99 @@ public class BookingController {
         return result;
     }
 
+    @GetMapping("/owner/summary")
+    public ResponseEntity<byte[]> getOwnerSummary(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId) {
+        ResponseEntity<byte[]> result = bookingClient.getOwnerSummary(userId);
+        log.info("[GET:{}] getOwnerSummary[ownerId:{}]", result.getStatusCode(), userId);
+        return result;
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<byte[]> getBookerSummary(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId) {
+        ResponseEntity<byte[]> result = bookingClient.getBookerSummary(userId);
+        log.info("[GET:{}] getBookerSummary[userId:{}]", result.getStatusCode(), userId);
+        return result;
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> getBooking(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                              @Valid @PathVariable(required = false) Long bookingId) {
-        ResponseEntity<Object> result = ResponseEntity.ok(bookingClient.getBooking(userId, bookingId));
-        Map<String, Object> body = (Map) result.getBody();
+        ResponseEntity<byte[]> result = bookingClient.getBooking(userId, bookingId);
         log.info("[GET:{}] getBooking[bookingId:{} itemId:{}, bookerId:{}]",
                 result.getStatusCode(),
                 bookingId,
-                ((Map) body.get("item")).get("id"),
-                ((Map) body.get("booker")).get("id")
+                JsonMetadata.field(result.getBody(), "item", "id"),
+                JsonMetadata.field(result.getBody(), "booker", "id")
         );
         return result;
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingsByOwner(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> getAllBookingsByOwner(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                                         @RequestParam(required = false, name = "state", defaultValue = "ALL") String stateParam,
                                                         @RequestParam(name = "from", defaultValue = "0") Integer from,
                                                         @RequestParam(name = "size", defaultValue = "10") Integer size) {
         StatusBooking state = StatusBooking.from(stateParam)
                 .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
-        ResponseEntity<Object> result = ResponseEntity.ok(bookingClient.getAllBookingsByOwner(userId, state, from, size));
+        ResponseEntity<byte[]> result = bookingClient.getAllBookingsByOwner(userId, state, from, size);
         log.info("[GET:{} getAllBookingsByOwner[ownerId:{} page:{} size:{}]]",
                 result.getStatusCode(),
                 userId,
                 from,
-                ((List) result.getBody()).size()
+                JsonMetadata.size(result.getBody())
         );
         return result;
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsByUser(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> getAllBookingsByUser(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                                        @RequestParam(required = false, name = "state", defaultValue = "ALL") String stateParam,
                                                        @RequestParam(name = "from", defaultValue = "0") Integer from,
                                                        @RequestParam(name = "size", defaultValue = "10") Integer size) {
         StatusBooking state = StatusBooking.from(stateParam)
                 .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
 
-        ResponseEntity<Object> result = ResponseEntity.ok(bookingClient.getAllBookingsByUser(userId, state, from, size));
+        ResponseEntity<byte[]> result = bookingClient.getAllBookingsByUser(userId, state, from, size);
         log.info("[GET:{} getAllBookingsByUser[userId:{} page:{} size:{}]]",
                 result.getStatusCode(),
                 userId,
                 from,
-                ((List) result.getBody()).size()
+                JsonMetadata.size(result.getBody())
+        );
+        return result;
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public ResponseEntity<byte[]> getAllBookingsByOwner(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                        @RequestParam(required = false, name = "state", defaultValue = "ALL") String stateParam,
+                                                        @RequestParam(name = "cursor") String cursor,
+                                                        @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        StatusBooking state = StatusBooking.from(stateParam)
+                .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
+        ResponseEntity<byte[]> result = bookingClient.getAllBookingsByOwner(userId, state, cursor, size);
+        log.info("[GET:{} getAllBookingsByOwner[ownerId:{} cursor:{} size:{}]]",
+                result.getStatusCode(),
+                userId,
+                cursor,
+                JsonMetadata.size(result.getBody(), "content")
+        );
+        return result;
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<byte[]> getAllBookingsByUser(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(required = false, name = "state", defaultValue = "ALL") String stateParam,
+                                                       @RequestParam(name = "cursor") String cursor,
+                                                       @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        StatusBooking state = StatusBooking.from(stateParam)
+                .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
+
+        ResponseEntity<byte[]> result = bookingClient.getAllBookingsByUser(userId, state, cursor, size);
+        log.info("[GET:{} getAllBookingsByUser[userId:{} cursor:{} size:{}]]",
+                result.getStatusCode(),
+                userId,
+                cursor,
+                JsonMetadata.size(result.getBody(), "content")
         );
         return result;
     }
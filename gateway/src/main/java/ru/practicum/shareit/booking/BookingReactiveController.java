@@ -0,0 +1,189 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.JsonMetadata;
+import ru.practicum.shareit.exception.ValidationException;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Те же маршруты и проверки, что у {@link BookingController}, для реактивного режима шлюза **/
+@Slf4j
+@Validated
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/bookings",
+        consumes = MediaType.ALL_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class BookingReactiveController {
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final BookingReactiveClient bookingClient;
+
+    public BookingReactiveController(BookingReactiveClient bookingClient) {
+        this.bookingClient = bookingClient;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> addBooking(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                   @Valid @RequestBody BookingDto bookingDto) {
+
+        // Дата аренды не должна быть в прошлом
+        if (bookingDto.getStart().isBefore(LocalDateTime.now())
+                // дата окончания аренды не должна быть меньше даты аренды
+                || bookingDto.getEnd().isBefore(bookingDto.getStart())
+                // дата начала аренды не должно быть позднее даты окончания аренды
+                || bookingDto.getStart().isAfter(bookingDto.getEnd())) {
+            throw new ValidationException(bookingDto.getEnd() + " It can't be in the past");
+        }
+
+        return bookingClient.addBooking(userId, bookingDto)
+                .doOnNext(result -> log.info("[POST:{}] addBooking[userId:{} bookingId:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        JsonMetadata.field(result.getBody(), "id")
+                ));
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> addBookings(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                    @RequestBody List<@Valid BookingDto> bookingDtos) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+
+        // Даты проверяются сервером для каждой записи отдельно
+        return bookingClient.addBookings(userId, bookingDtos)
+                .doOnNext(result -> log.info("[POST:{}] addBookings[userId:{} size:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        bookingDtos.size()
+                ));
+    }
+
+    @PatchMapping(path = "/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> statusBookings(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                       @Valid @RequestBody BookingStatusUpdateDto statusUpdateDto) {
+        return bookingClient.statusBookings(userId, statusUpdateDto)
+                .doOnNext(result -> log.info("[PATCH:{}] statusBookings[userId:{} size:{} approved:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        statusUpdateDto.getBookingIds().size(),
+                        statusUpdateDto.getApproved()
+                ));
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<byte[]>> statusBooking(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                      @Valid @PathVariable Long bookingId,
+                                                      @NotBlank @RequestParam String approved) {
+        return bookingClient.statusBooking(userId, bookingId, approved)
+                .doOnNext(result -> log.info("[PATCH:{}] statusBooking[userId:{} bookingId:{} approved:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        bookingId,
+                        approved
+                ));
+    }
+
+    @GetMapping("/owner/summary")
+    public Mono<ResponseEntity<byte[]>> getOwnerSummary(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId) {
+        return bookingClient.getOwnerSummary(userId)
+                .doOnNext(result -> log.info("[GET:{}] getOwnerSummary[ownerId:{}]", result.getStatusCode(), userId));
+    }
+
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<byte[]>> getBookerSummary(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId) {
+        return bookingClient.getBookerSummary(userId)
+                .doOnNext(result -> log.info("[GET:{}] getBookerSummary[userId:{}]", result.getStatusCode(), userId));
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<byte[]>> getBooking(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                   @Valid @PathVariable(required = false) Long bookingId) {
+        return bookingClient.getBooking(userId, bookingId)
+                .doOnNext(result -> log.info("[GET:{}] getBooking[bookingId:{} itemId:{}, bookerId:{}]",
+                        result.getStatusCode(),
+                        bookingId,
+                        JsonMetadata.field(result.getBody(), "item", "id"),
+                        JsonMetadata.field(result.getBody(), "booker", "id")
+                ));
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<byte[]>> getAllBookingsByOwner(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                              @RequestParam(required = false, name = "state", defaultValue = "ALL") String stateParam,
+                                                              @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                              @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        StatusBooking state = StatusBooking.from(stateParam)
+                .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
+        return bookingClient.getAllBookingsByOwner(userId, state, from, size)
+                .doOnNext(result -> log.info("[GET:{} getAllBookingsByOwner[ownerId:{} page:{} size:{}]]",
+                        result.getStatusCode(),
+                        userId,
+                        from,
+                        JsonMetadata.size(result.getBody())
+                ));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAllBookingsByUser(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(required = false, name = "state", defaultValue = "ALL") String stateParam,
+                                                             @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                             @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        StatusBooking state = StatusBooking.from(stateParam)
+                .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
+
+        return bookingClient.getAllBookingsByUser(userId, state, from, size)
+                .doOnNext(result -> log.info("[GET:{} getAllBookingsByUser[userId:{} page:{} size:{}]]",
+                        result.getStatusCode(),
+                        userId,
+                        from,
+                        JsonMetadata.size(result.getBody())
+                ));
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public Mono<ResponseEntity<byte[]>> getAllBookingsByOwner(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                              @RequestParam(required = false, name = "state", defaultValue = "ALL") String stateParam,
+                                                              @RequestParam(name = "cursor") String cursor,
+                                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        StatusBooking state = StatusBooking.from(stateParam)
+                .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
+        return bookingClient.getAllBookingsByOwner(userId, state, cursor, size)
+                .doOnNext(result -> log.info("[GET:{} getAllBookingsByOwner[ownerId:{} cursor:{} size:{}]]",
+                        result.getStatusCode(),
+                        userId,
+                        cursor,
+                        JsonMetadata.size(result.getBody(), "content")
+                ));
+    }
+
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<byte[]>> getAllBookingsByUser(@NotNull @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(required = false, name = "state", defaultValue = "ALL") String stateParam,
+                                                             @RequestParam(name = "cursor") String cursor,
+                                                             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        StatusBooking state = StatusBooking.from(stateParam)
+                .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
+
+        return bookingClient.getAllBookingsByUser(userId, state, cursor, size)
+                .doOnNext(result -> log.info("[GET:{} getAllBookingsByUser[userId:{} cursor:{} size:{}]]",
+                        result.getStatusCode(),
+                        userId,
+                        cursor,
+                        JsonMetadata.size(result.getBody(), "content")
+                ));
+    }
+}
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.client;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -10,105 +14,211 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NullObjectException;
 import ru.practicum.shareit.exception.ValidationException;
 
 public class BaseClient {
+    private static final Set<String> CONNECTION_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "content-length", "date", "upgrade", "proxy-authenticate", "trailer");
+
     protected final RestTemplate rest;
+    @Nullable
+    private final SingleFlight singleFlight;
+    @Nullable
+    private final ResponseCache responseCache;
+    @Nullable
+    private final RouteGuard routeGuard;
+    @Nullable
+    private final Hedging hedging;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable SingleFlight singleFlight, @Nullable ResponseCache responseCache,
+                      @Nullable RouteGuard routeGuard, @Nullable Hedging hedging) {
         this.rest = rest;
+        this.singleFlight = singleFlight;
+        this.responseCache = responseCache;
+        this.routeGuard = routeGuard;
+        this.hedging = hedging;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected ResponseEntity<byte[]> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected ResponseEntity<byte[]> get(String path, Long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected ResponseEntity<byte[]> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> ResponseEntity<byte[]> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> post(String path, Long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> ResponseEntity<byte[]> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> put(String path, Long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> ResponseEntity<byte[]> put(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> ResponseEntity<byte[]> patch(String path, Long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, Long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected ResponseEntity<byte[]> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected ResponseEntity<byte[]> delete(String path, Long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected ResponseEntity<byte[]> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    /**
+     * Запрос к серверу. GET без пользователя на пути из настроек отдаётся из {@link ResponseCache},
+     * одинаковые одновременные GET (тот же URI и X-Sharer-User-Id) объединяются в один вызов
+     * сервера через {@link SingleFlight}. Успешная запись удаляет из кэша ответы своего раздела.
+     * Сам вызов сервера проходит через bulkhead и circuit breaker раздела ({@link RouteGuard}),
+     * медленный GET повторяется через {@link Hedging}.
+     **/
+    private <T> ResponseEntity<byte[]> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        if (method != HttpMethod.GET) {
+            ResponseEntity<byte[]> response = guarded(uri, () -> send(method, path, userId, parameters, body));
+            if (responseCache != null) {
+                responseCache.evict(section(uri));
+            }
+            return response;
+        }
+        if (userId == null && responseCache != null && responseCache.cacheable(uri)) {
+            ResponseEntity<byte[]> cached = responseCache.get(uri);
+            if (cached != null) {
+                return cached;
+            }
+            long version = responseCache.version();
+            ResponseEntity<byte[]> response = coalesced(uri, path, userId, parameters);
+            responseCache.put(uri, response, version);
+            return response;
+        }
+        return coalesced(uri, path, userId, parameters);
+    }
+
+    private ResponseEntity<byte[]> coalesced(URI uri, String path, Long userId, @Nullable Map<String, Object> parameters) {
+        Supplier<ResponseEntity<byte[]>> call =
+                () -> hedged(uri, () -> guarded(uri, () -> send(HttpMethod.GET, path, userId, parameters, null)));
+        if (singleFlight == null) {
+            return call.get();
+        }
+        // ответ зависит от полного URI и пользователя из X-Sharer-User-Id
+        return singleFlight.execute(uri + "|" + userId, call);
+    }
+
+    /** GET идемпотентен - второй такой же запрос безопасен, каждый проходит через bulkhead раздела **/
+    private ResponseEntity<byte[]> hedged(URI uri, Supplier<ResponseEntity<byte[]>> call) {
+        if (hedging == null) {
+            return call.get();
+        }
+        return hedging.execute(section(uri).replace("/", ""), call);
+    }
+
+    private ResponseEntity<byte[]> guarded(URI uri, Supplier<ResponseEntity<byte[]>> call) {
+        if (routeGuard == null) {
+            return call.get();
+        }
+        // bulkhead и circuit breaker по разделу: /items -> items
+        return routeGuard.call(section(uri).replace("/", ""), call);
+    }
+
+    /**
+     * Тело ответа не разбирается - байты, статус и заголовки (кроме hop-by-hop)
+     * передаются клиенту как есть.
+     **/
+    private <T> ResponseEntity<byte[]> send(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (ResourceAccessException e) {
+            if (Hedging.aborted()) {
+                throw new HedgeAbortedException(e);
             }
+            throw e;
         } catch (HttpStatusCodeException e) {
-            switch (e.getRawStatusCode()) {
-                case 400:
-                    throw new ValidationException("ValidationException");
-                case 404:
-                    throw new NullObjectException("Not Found");
-                case 409:
-                    throw new ConflictException("ConflictException");
-                default:
-                    return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            RuntimeException error = errorFor(e.getRawStatusCode());
+            if (error != null) {
+                throw error;
             }
-
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(passThroughHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(passThroughHeaders(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody());
+    }
+
+    /** Раздел API по первому сегменту пути: /items/1/comment -> /items **/
+    static String section(URI uri) {
+        String path = uri.getPath();
+        int end = path.indexOf('/', 1);
+        return end > 0 ? path.substring(0, end) : path;
+    }
+
+    /** Ошибка шлюза для статуса сервера или null, если ответ передаётся клиенту как есть **/
+    static RuntimeException errorFor(int rawStatus) {
+        switch (rawStatus) {
+            case 400:
+                return new ValidationException("ValidationException");
+            case 404:
+                return new NullObjectException("Not Found");
+            case 409:
+                return new ConflictException("ConflictException");
+            default:
+                return null;
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    static HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
@@ -118,17 +228,16 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    /** Заголовки ответа сервера без относящихся к соединению - их выставляет сам шлюз **/
+    static HttpHeaders passThroughHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!CONNECTION_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.put(name, values);
+                }
+            });
         }
-
-        return responseBuilder.build();
+        return headers;
     }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Запрос прерван, потому что другой запрос той же гонки из {@link Hedging} ответил раньше.
+ * Не ошибка сервера - circuit breaker его не учитывает (resilience4j.circuitbreaker.*.ignore-exceptions).
+ **/
+public class HedgeAbortedException extends RuntimeException {
+    public HedgeAbortedException(Throwable cause) {
+        super("Request aborted: hedged request answered first", cause);
+    }
+}
@@ -0,0 +1,314 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NullObjectException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Повтор GET к серверу, если первый запрос отвечает дольше p95 задержек своего раздела:
+ * отправляется второй такой же, клиент получает ответ, пришедший первым. Повторы ограничены
+ * бюджетом - не больше budget-percent от всех GET, поэтому медленный сервер не получает двойную нагрузку.
+ * Первый запрос выполняется в потоке вызывающего, пул занимают только повторы. Если повтор ответил раньше,
+ * HTTP-запрос первого прерывается через {@link #onAbort(Runnable)}, и вызывающий сразу получает ответ повтора.
+ * Ответ первого запроса, включая 400/404/409, отдаётся сразу, а отправленный повтор прерывается так же.
+ * Метрики: gateway.server.latency (route, с перцентилем, включая ошибки), gateway.hedge.requests
+ * (outcome=sent|won|no-budget) и гистограмма выигранного времени gateway.hedge.latency.saved -
+ * по первым запросам, которые не удалось прервать и которые ответили сами.
+ **/
+@Component
+@EnableConfigurationProperties(HedgingProperties.class)
+public class Hedging {
+    private static final long HEDGE_COST = 100;
+    private static final ThreadLocal<Race> PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Race> HEDGE = new ThreadLocal<>();
+
+    private final HedgingProperties properties;
+    private final MeterRegistry registry;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final AtomicLong budget;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter noBudget;
+    private final Timer saved;
+
+    public Hedging(HedgingProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.executor = new ThreadPoolExecutor(0, properties.getThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("hedging-"));
+        CustomizableThreadFactory timerThreads = new CustomizableThreadFactory("hedging-timer-");
+        timerThreads.setDaemon(true);
+        this.timer = new ScheduledThreadPoolExecutor(1, timerThreads);
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.budget = new AtomicLong(properties.getMaxBurst() * HEDGE_COST);
+        this.sent = outcome("sent");
+        this.won = outcome("won");
+        this.noBudget = outcome("no-budget");
+        this.saved = Timer.builder("gateway.hedge.latency.saved")
+                .description("На сколько повтор ответил раньше первого запроса")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Прерывание HTTP-запроса, созданного в текущем потоке. Если поток выполняет первый запрос или повтор
+     * и другой запрос уже ответил - прерывает сразу, вне {@link #execute} ничего не делает.
+     **/
+    public static void onAbort(Runnable abort) {
+        Race race = PRIMARY.get();
+        if (race != null) {
+            race.onAbort(race.primaryAborts, Race.HEDGE_WON, abort);
+            return;
+        }
+        race = HEDGE.get();
+        if (race != null) {
+            race.onAbort(race.hedgeAborts, Race.PRIMARY_WON, abort);
+        }
+    }
+
+    /** Запрос текущего потока прерван, потому что другой запрос той же гонки ответил раньше **/
+    public static boolean aborted() {
+        Race race = PRIMARY.get();
+        if (race != null) {
+            return race.state.get() == Race.HEDGE_WON;
+        }
+        race = HEDGE.get();
+        return race != null && race.state.get() == Race.PRIMARY_WON;
+    }
+
+    public ResponseEntity<byte[]> execute(String route, Supplier<ResponseEntity<byte[]>> call) {
+        Timer latency = latency(route);
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        deposit();
+        Duration delay = delay(latency);
+        if (delay == null) {
+            return timed(call, latency);
+        }
+
+        Race race = new Race();
+        ScheduledFuture<?> hedgeTimer = timer.schedule(() -> hedge(race, call, latency),
+                delay.toNanos(), TimeUnit.NANOSECONDS);
+        ResponseEntity<byte[]> response;
+        long start = System.nanoTime();
+        PRIMARY.set(race);
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            hedgeTimer.cancel(false);
+            return primaryFailed(race, e, latency, start);
+        } finally {
+            PRIMARY.remove();
+        }
+        hedgeTimer.cancel(false);
+        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (race.state.compareAndSet(Race.RUNNING, Race.PRIMARY_WON)) {
+            return response;
+        }
+        if (race.state.compareAndSet(Race.HEDGING, Race.PRIMARY_WON)) {
+            race.abort(race.hedgeAborts);
+            return response;
+        }
+        // повтор ответил раньше, но первый запрос прервать не удалось
+        saved.record(System.nanoTime() - race.answered, TimeUnit.NANOSECONDS);
+        return race.hedge.join();
+    }
+
+    /**
+     * Ошибка первого запроса: прерван повтором - ответ повтора; ответ сервера 400/404/409 - сразу клиенту,
+     * повтор прерывается; иначе ждём повтор, если он уже отправлен
+     **/
+    private ResponseEntity<byte[]> primaryFailed(Race race, RuntimeException error, Timer latency, long start) {
+        if (race.state.compareAndSet(Race.RUNNING, Race.PRIMARY_WON)) {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw error;
+        }
+        if (isServerAnswer(error) && race.state.compareAndSet(Race.HEDGING, Race.PRIMARY_WON)) {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            race.abort(race.hedgeAborts);
+            throw error;
+        }
+        if (race.state.get() == Race.HEDGE_WON) {
+            return race.hedge.join();
+        }
+        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        try {
+            return race.hedge.get();
+        } catch (ExecutionException e) {
+            throw error;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for server", e);
+        }
+    }
+
+    /** Запускается таймером через задержку, если первый запрос ещё не ответил **/
+    private void hedge(Race race, Supplier<ResponseEntity<byte[]>> call, Timer latency) {
+        if (race.state.get() != Race.RUNNING) {
+            return;
+        }
+        if (!withdraw()) {
+            noBudget.increment();
+            return;
+        }
+        if (!race.state.compareAndSet(Race.RUNNING, Race.HEDGING)) {
+            budget.addAndGet(HEDGE_COST);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                HEDGE.set(race);
+                try {
+                    ResponseEntity<byte[]> response = timed(call, latency);
+                    if (race.state.compareAndSet(Race.HEDGING, Race.HEDGE_WON)) {
+                        race.answered = System.nanoTime();
+                        won.increment();
+                        race.hedge.complete(response);
+                        race.abort(race.primaryAborts);
+                    } else {
+                        race.hedge.complete(response);
+                    }
+                } catch (RuntimeException | Error e) {
+                    race.hedge.completeExceptionally(e);
+                } finally {
+                    HEDGE.remove();
+                }
+            });
+            sent.increment();
+        } catch (RejectedExecutionException e) {
+            // свободных потоков нет - первый запрос продолжает один
+            budget.addAndGet(HEDGE_COST);
+            race.hedge.completeExceptionally(e);
+        }
+    }
+
+    /** Задержка перед повтором или null, если замеров раздела пока мало **/
+    private Duration delay(Timer latency) {
+        if (latency.count() < properties.getMinSamples()) {
+            return null;
+        }
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == properties.getPercentile()) {
+                Duration delay = Duration.ofNanos((long) value.value(TimeUnit.NANOSECONDS));
+                if (delay.compareTo(properties.getMinDelay()) < 0) {
+                    return properties.getMinDelay();
+                }
+                return delay.compareTo(properties.getMaxDelay()) > 0 ? properties.getMaxDelay() : delay;
+            }
+        }
+        return null;
+    }
+
+    /** Каждый GET пополняет бюджет на budget-percent повтора, запас ограничен max-burst **/
+    private void deposit() {
+        long max = properties.getMaxBurst() * HEDGE_COST;
+        budget.updateAndGet(balance -> Math.min(max, balance + properties.getBudgetPercent()));
+    }
+
+    private boolean withdraw() {
+        long balance = budget.get();
+        while (balance >= HEDGE_COST) {
+            if (budget.compareAndSet(balance, balance - HEDGE_COST)) {
+                return true;
+            }
+            balance = budget.get();
+        }
+        return false;
+    }
+
+    /** Сервер ответил, и повтор ответит так же - ждать его незачем **/
+    private static boolean isServerAnswer(RuntimeException error) {
+        return error instanceof ValidationException
+                || error instanceof NullObjectException
+                || error instanceof ConflictException;
+    }
+
+    /** Вызов с замером задержки - и успешный, и с ошибкой **/
+    private static ResponseEntity<byte[]> timed(Supplier<ResponseEntity<byte[]>> call, Timer latency) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer latency(String route) {
+        return Timer.builder("gateway.server.latency")
+                .tag("route", route)
+                .publishPercentiles(properties.getPercentile())
+                .register(registry);
+    }
+
+    private Counter outcome(String outcome) {
+        return Counter.builder("gateway.hedge.requests")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /** Состояние одного GET: первый запрос в потоке вызывающего и, возможно, повтор в пуле **/
+    private static final class Race {
+        private static final int RUNNING = 0;
+        private static final int HEDGING = 1;
+        private static final int PRIMARY_WON = 2;
+        private static final int HEDGE_WON = 3;
+
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private final CompletableFuture<ResponseEntity<byte[]>> hedge = new CompletableFuture<>();
+        private final List<Runnable> primaryAborts = new ArrayList<>();
+        private final List<Runnable> hedgeAborts = new ArrayList<>();
+        private volatile long answered;
+
+        /** Регистрирует прерывание запроса или прерывает сразу, если гонка уже в состоянии abortedIn **/
+        private void onAbort(List<Runnable> aborts, int abortedIn, Runnable abort) {
+            synchronized (aborts) {
+                if (state.get() != abortedIn) {
+                    aborts.add(abort);
+                    return;
+                }
+            }
+            abort.run();
+        }
+
+        private void abort(List<Runnable> aborts) {
+            List<Runnable> registered;
+            synchronized (aborts) {
+                registered = new ArrayList<>(aborts);
+            }
+            registered.forEach(Runnable::run);
+        }
+    }
+}
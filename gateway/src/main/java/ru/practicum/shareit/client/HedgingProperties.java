@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Настройки повторных (hedged) GET-запросов к серверу **/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.hedging")
+public class HedgingProperties {
+    private boolean enabled = false;
+
+    /** Второй запрос отправляется, если первый дольше этого перцентиля задержек раздела **/
+    private double percentile = 0.95;
+
+    /** Пока замеров раздела меньше, повторов нет **/
+    private int minSamples = 100;
+
+    private Duration minDelay = Duration.ofMillis(20);
+
+    private Duration maxDelay = Duration.ofSeconds(2);
+
+    /** Повторов не больше этого процента от всех GET **/
+    private int budgetPercent = 5;
+
+    /** Запас повторов, накопленный бюджетом, - столько можно отправить подряд **/
+    private int maxBurst = 10;
+
+    /** Потоки для повторов - первый запрос выполняется в потоке вызывающего **/
+    private int threads = 100;
+}
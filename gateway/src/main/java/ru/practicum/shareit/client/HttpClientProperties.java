@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Настройки общего пула соединений шлюза с сервером **/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    /** Всего соединений в пуле **/
+    private int maxConnections = 200;
+
+    /** Соединений на один адрес сервера **/
+    private int maxConnectionsPerRoute = 100;
+
+    /** Ожидание соединения из пула **/
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /** Время жизни соединения, если сервер не прислал Keep-Alive **/
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /** Простаивающие дольше соединения закрываются фоновым потоком **/
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Проверка соединения, простоявшего в пуле дольше **/
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Данные для логирования из тела ответа сервера без построения дерева объектов:
+ * тело читается потоковым парсером, ненужные поля и элементы пропускаются.
+ **/
+public final class JsonMetadata {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private JsonMetadata() {
+    }
+
+    /** Значение поля по пути (item, id) в виде текста или null **/
+    public static String field(byte[] json, String... path) {
+        if (json == null || json.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (!moveTo(parser, path)) {
+                return null;
+            }
+            JsonToken token = parser.currentToken();
+            return token != null && token.isScalarValue() && token != JsonToken.VALUE_NULL ? parser.getText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Число элементов массива по пути, пустой путь - массив верхнего уровня; -1, если массива нет **/
+    public static int size(byte[] json, String... path) {
+        if (json == null || json.length == 0) {
+            return -1;
+        }
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (!moveTo(parser, path) || parser.currentToken() != JsonToken.START_ARRAY) {
+                return -1;
+            }
+            int size = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                size++;
+            }
+            return size;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static boolean moveTo(JsonParser parser, String... path) throws IOException {
+        parser.nextToken();
+        for (String name : path) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            if (!moveToField(parser, name)) {
+                return false;
+            }
+        }
+        return parser.currentToken() != null;
+    }
+
+    private static boolean moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (name.equals(field)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
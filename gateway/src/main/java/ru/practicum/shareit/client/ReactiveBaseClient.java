@@ -0,0 +1,135 @@
+package ru.practicum.shareit.client;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующий вариант {@link BaseClient} на WebClient: те же пути, заголовки и обработка статусов сервера,
+ * но поток не ждёт ответа - результат приходит в Mono на event-loop.
+ * Защищён так же, как BaseClient: bulkhead и circuit breaker раздела ({@link RouteGuard}) и кэш ответов
+ * ({@link ResponseCache}). {@link Hedging} и {@link SingleFlight} держат поток на время запроса и в реактивном
+ * режиме не применяются - медленный GET не повторяется, одинаковые одновременные GET не объединяются.
+ **/
+public class ReactiveBaseClient {
+    protected final WebClient rest;
+    private final UriBuilderFactory uriBuilderFactory;
+    @Nullable
+    private final ResponseCache responseCache;
+    @Nullable
+    private final RouteGuard routeGuard;
+
+    public ReactiveBaseClient(String baseUrl, WebClient.Builder builder) {
+        this(baseUrl, builder, null, null);
+    }
+
+    public ReactiveBaseClient(String baseUrl, WebClient.Builder builder, @Nullable ResponseCache responseCache,
+                              @Nullable RouteGuard routeGuard) {
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(baseUrl);
+        this.rest = builder.uriBuilderFactory(uriBuilderFactory).build();
+        this.responseCache = responseCache;
+        this.routeGuard = routeGuard;
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, Long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, Long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, Long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> delete(String path, Long userId) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, null, null);
+    }
+
+    /**
+     * Запрос к серверу. Как и в {@link BaseClient}, GET без пользователя на пути из настроек отдаётся
+     * из {@link ResponseCache}, успешная запись удаляет из кэша ответы своего раздела, а сам вызов сервера
+     * проходит через {@link RouteGuard} раздела.
+     **/
+    private <T> Mono<ResponseEntity<byte[]>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = parameters != null
+                ? uriBuilderFactory.expand(path, parameters)
+                : uriBuilderFactory.expand(path);
+        Mono<ResponseEntity<byte[]>> call = guarded(uri, send(method, uri, userId, body));
+        if (responseCache == null) {
+            return call;
+        }
+        if (method != HttpMethod.GET) {
+            return call.doOnNext(response -> responseCache.evict(BaseClient.section(uri)));
+        }
+        if (userId == null && responseCache.cacheable(uri)) {
+            return Mono.defer(() -> {
+                ResponseEntity<byte[]> cached = responseCache.get(uri);
+                if (cached != null) {
+                    return Mono.just(cached);
+                }
+                long version = responseCache.version();
+                return call.doOnNext(response -> responseCache.put(uri, response, version));
+            });
+        }
+        return call;
+    }
+
+    private Mono<ResponseEntity<byte[]>> guarded(URI uri, Mono<ResponseEntity<byte[]>> call) {
+        if (routeGuard == null) {
+            return call;
+        }
+        return routeGuard.call(BaseClient.section(uri).replace("/", ""), call);
+    }
+
+    /** 400/404/409 становятся ошибками шлюза, остальные ответы передаются клиенту байтами без разбора **/
+    private <T> Mono<ResponseEntity<byte[]>> send(HttpMethod method, URI uri, Long userId, @Nullable T body) {
+        WebClient.RequestBodySpec request = rest.method(method)
+                .uri(uri)
+                .headers(headers -> headers.addAll(BaseClient.defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody.exchangeToMono(response -> response.toEntity(byte[].class))
+                .flatMap(shareitServerResponse -> {
+                    RuntimeException error = BaseClient.errorFor(shareitServerResponse.getStatusCodeValue());
+                    if (error != null) {
+                        return Mono.error(error);
+                    }
+                    return Mono.just(ResponseEntity.status(shareitServerResponse.getStatusCodeValue())
+                            .headers(BaseClient.passThroughHeaders(shareitServerResponse.getHeaders()))
+                            .body(shareitServerResponse.getBody()));
+                });
+    }
+}
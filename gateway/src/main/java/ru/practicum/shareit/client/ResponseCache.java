@@ -0,0 +1,135 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU-кэш ответов сервера на GET без пользователя (без X-Sharer-User-Id): URI -> статус, заголовки и байты тела.
+ * Кэшируются только пути из shareit-gateway.response-cache.routes, каждый со своим ttl.
+ * Запись через шлюз удаляет ответы того же раздела (/items, /users...), очистка вручную - /actuator/responsecache.
+ * Метрики: gateway.response-cache.requests (route, result=hit|miss) и gateway.response-cache.hit.ratio.
+ **/
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+    private static final String METRIC = "gateway.response-cache.requests";
+
+    private final ResponseCacheProperties properties;
+    private final Clock clock;
+    private final MeterRegistry registry;
+    private final Map<String, Entry> entries;
+    private long version;
+
+    @Autowired
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this(properties, registry, Clock.systemUTC());
+    }
+
+    ResponseCache(ResponseCacheProperties properties, MeterRegistry registry, Clock clock) {
+        this.properties = properties;
+        this.registry = registry;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.properties.getMaxEntries();
+            }
+        };
+        Gauge.builder("gateway.response-cache.size", this, ResponseCache::size)
+                .register(registry);
+        Gauge.builder("gateway.response-cache.hit.ratio", this, ResponseCache::hitRatio)
+                .description("Доля запросов к кэшируемым путям, отданных из кэша")
+                .register(registry);
+    }
+
+    public boolean cacheable(URI uri) {
+        return properties.getRoutes().containsKey(uri.getPath());
+    }
+
+    /** Копия сохранённого ответа или null, если его нет или он устарел **/
+    public ResponseEntity<byte[]> get(URI uri) {
+        ResponseEntity<byte[]> response = find(uri.toString());
+        counter(uri, response != null ? "hit" : "miss").increment();
+        return response != null ? SingleFlight.copy(response) : null;
+    }
+
+    /** Счётчик записей - читается до запроса к серверу и передаётся в put **/
+    public synchronized long version() {
+        return version;
+    }
+
+    /** Сохранить успешный ответ, если с начала запроса через шлюз ничего не записывали **/
+    public void put(URI uri, ResponseEntity<byte[]> response, long version) {
+        Duration ttl = properties.getRoutes().get(uri.getPath());
+        if (ttl == null || response.getStatusCodeValue() / 100 != 2) {
+            return;
+        }
+        Entry entry = new Entry(SingleFlight.copy(response), clock.instant().plus(ttl));
+        synchronized (this) {
+            if (properties.getMaxEntries() > 0 && this.version == version) {
+                entries.put(uri.toString(), entry);
+            }
+        }
+    }
+
+    /** Удалить ответы, путь которых начинается с prefix; пустой prefix - все. Возвращает число удалённых **/
+    public synchronized int evict(String prefix) {
+        version++;
+        int size = entries.size();
+        entries.keySet().removeIf(key -> URI.create(key).getPath().startsWith(prefix));
+        return size - entries.size();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    double hitRatio() {
+        double hits = registry.find(METRIC).tag("result", "hit").counters().stream()
+                .mapToDouble(Counter::count).sum();
+        double misses = registry.find(METRIC).tag("result", "miss").counters().stream()
+                .mapToDouble(Counter::count).sum();
+        return hits + misses == 0 ? 0 : hits / (hits + misses);
+    }
+
+    private synchronized ResponseEntity<byte[]> find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.expires.isAfter(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.response;
+    }
+
+    private Counter counter(URI uri, String result) {
+        return Counter.builder(METRIC)
+                .tag("route", uri.getPath())
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static class Entry {
+        private final ResponseEntity<byte[]> response;
+        private final Instant expires;
+
+        private Entry(ResponseEntity<byte[]> response, Instant expires) {
+            this.response = response;
+            this.expires = expires;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/responsecache: GET - размер кэша и доля попаданий,
+ * DELETE - очистка всего кэша или ответов одного пути (?route=/items/search).
+ * Доступен только на порту management.server.port, не на публичном порту шлюза.
+ **/
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+    private final ResponseCache responseCache;
+
+    public ResponseCacheEndpoint(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+                "size", responseCache.size(),
+                "hitRatio", responseCache.hitRatio()
+        );
+    }
+
+    @DeleteOperation
+    public Map<String, Object> purge(@Nullable String route) {
+        return Map.of("evicted", responseCache.evict(route != null ? route : ""));
+    }
+}
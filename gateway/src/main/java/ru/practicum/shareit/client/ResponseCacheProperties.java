@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Настройки кэша ответов сервера в шлюзе **/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.response-cache")
+public class ResponseCacheProperties {
+    /** Всего ответов в кэше, при переполнении вытесняются давно не запрошенные **/
+    private int maxEntries = 1000;
+
+    /** Путь на сервере -> время жизни ответа; кэшируются только перечисленные пути **/
+    private Map<String, Duration> routes = new HashMap<>();
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Защита шлюза от медленного или упавшего сервера по разделам API (bookings, items, requests, users):
+ * bulkhead ограничивает число одновременных запросов раздела, circuit breaker после серии ошибок
+ * перестаёт ходить на сервер и пропускает пробные запросы через wait-duration-in-open-state.
+ * В обоих случаях запрос сразу получает 503. Пороги - resilience4j.circuitbreaker.* и resilience4j.bulkhead.*,
+ * состояние - /actuator/circuitbreakers и /actuator/bulkheads. Реактивный режим использует те же bulkhead
+ * и circuit breaker разделов через {@link #call(String, Mono)}.
+ **/
+@Component
+public class RouteGuard {
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public RouteGuard(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+    }
+
+    /** Ответ сервера; 5xx считается ошибкой для circuit breaker, но передаётся клиенту как есть **/
+    public ResponseEntity<byte[]> call(String route, Supplier<ResponseEntity<byte[]>> call) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(route);
+        Bulkhead bulkhead = bulkheads.bulkhead(route);
+        Supplier<ResponseEntity<byte[]>> guarded = CircuitBreaker.decorateSupplier(circuitBreaker,
+                Bulkhead.decorateSupplier(bulkhead, () -> failOnServerError(call.get())));
+        try {
+            return guarded.get();
+        } catch (ServerErrorResponse e) {
+            return e.response;
+        } catch (CallNotPermittedException e) {
+            throw new ServiceUnavailableException("Circuit breaker '" + route + "' is open");
+        } catch (BulkheadFullException e) {
+            throw new ServiceUnavailableException("Bulkhead '" + route + "' is full");
+        }
+    }
+
+    /**
+     * Неблокирующий вариант: разрешения берутся при подписке, результат учитывается circuit breaker
+     * по сигналу Mono, bulkhead освобождается по завершении или отмене
+     **/
+    public Mono<ResponseEntity<byte[]>> call(String route, Mono<ResponseEntity<byte[]>> call) {
+        return Mono.defer(() -> {
+            CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(route);
+            Bulkhead bulkhead = bulkheads.bulkhead(route);
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new ServiceUnavailableException("Circuit breaker '" + route + "' is open"));
+            }
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                return Mono.error(new ServiceUnavailableException("Bulkhead '" + route + "' is full"));
+            }
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call
+                    .doOnNext(response -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            long duration = System.nanoTime() - start;
+                            if (response.getStatusCodeValue() >= 500) {
+                                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, new ServerErrorResponse(response));
+                            } else {
+                                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                            }
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        bulkhead.onComplete();
+                        // отменён до ответа - вызов не учитывается
+                        if (recorded.compareAndSet(false, true)) {
+                            circuitBreaker.releasePermission();
+                        }
+                    });
+        });
+    }
+
+    private static ResponseEntity<byte[]> failOnServerError(ResponseEntity<byte[]> response) {
+        if (response.getStatusCodeValue() >= 500) {
+            throw new ServerErrorResponse(response);
+        }
+        return response;
+    }
+
+    /** Ответ 5xx в виде исключения, чтобы circuit breaker учёл его как ошибку **/
+    static class ServerErrorResponse extends RuntimeException {
+        private final transient ResponseEntity<byte[]> response;
+
+        ServerErrorResponse(ResponseEntity<byte[]> response) {
+            super("Server responded " + response.getStatusCodeValue(), null, false, false);
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных запросов к серверу: первый (ведущий) идёт на сервер,
+ * остальные с тем же ключом ждут его ответ и получают те же байты. Результат не запоминается -
+ * следующий запрос после ответа снова идёт на сервер.
+ * Метрики: gateway.single-flight.requests (role=leader|follower) и доля объединённых gateway.single-flight.ratio.
+ **/
+@Component
+public class SingleFlight {
+    private final boolean enabled;
+    private final Map<String, CompletableFuture<ResponseEntity<byte[]>>> calls = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(@Value("${shareit-gateway.single-flight.enabled:true}") boolean enabled,
+                        MeterRegistry registry) {
+        this.enabled = enabled;
+        this.leaders = Counter.builder("gateway.single-flight.requests")
+                .tag("role", "leader")
+                .register(registry);
+        this.followers = Counter.builder("gateway.single-flight.requests")
+                .tag("role", "follower")
+                .register(registry);
+        Gauge.builder("gateway.single-flight.ratio", this, SingleFlight::ratio)
+                .description("Доля запросов, получивших ответ ведущего запроса")
+                .register(registry);
+    }
+
+    public ResponseEntity<byte[]> execute(String key, Supplier<ResponseEntity<byte[]>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        CompletableFuture<ResponseEntity<byte[]>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<byte[]>> leader = calls.putIfAbsent(key, flight);
+        if (leader != null) {
+            followers.increment();
+            return copy(await(leader));
+        }
+
+        leaders.increment();
+        try {
+            ResponseEntity<byte[]> result = call.get();
+            calls.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            calls.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    double ratio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+
+    private static ResponseEntity<byte[]> await(CompletableFuture<ResponseEntity<byte[]>> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /** Свои заголовки для каждого ожидавшего - ответ ведущего мог уже уйти клиенту **/
+    static ResponseEntity<byte[]> copy(ResponseEntity<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(response.getBody());
+    }
+}
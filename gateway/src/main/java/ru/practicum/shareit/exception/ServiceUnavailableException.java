@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String massage) {
+        super(massage);
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NullObjectException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import javax.validation.ConstraintViolationException;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/** Ответы об ошибках реактивного режима - в том же виде, что у {@link RestResponseEntityExceptionHandler} **/
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private static final String TIMESTAMP = "timestamp";
+    private static final String STATUS = "status";
+    private static final String ERROR = "error";
+    private static final String PATH = "path";
+    private static final String REASONS = "reasons";
+
+    @ExceptionHandler
+    public ResponseEntity<?> handlerNullObjectException(final NullObjectException ex, ServerHttpRequest request) {
+        logger.error("not found error. Message: {}", ex.getMessage(), ex);
+        Map<String, Object> body = getGeneralErrorBody(HttpStatus.NOT_FOUND, request);
+        body.put(REASONS, ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<?> handlerValidationException(final ValidationException ex) {
+        logger.error("not valid. Message: {}", ex.getMessage(), ex);
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<?> handlerConflictException(final ConflictException ex, ServerHttpRequest request) {
+        logger.error("conflict. Message: {}", ex.getMessage(), ex);
+        Map<String, Object> body = getGeneralErrorBody(HttpStatus.CONFLICT, request);
+        body.put(REASONS, ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<?> handleBindException(final WebExchangeBindException e, ServerHttpRequest request) {
+        logger.error("not valid. Message: {}", e.getMessage(), e);
+        Map<String, Object> body = getGeneralErrorBody(HttpStatus.BAD_REQUEST, request);
+        List<String> errors = e.getBindingResult()
+                .getAllErrors()
+                .stream()
+                .map(this::getErrorString).collect(Collectors.toList());
+        body.put(REASONS, errors);
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    /** Нарушены ограничения параметров запроса (@Positive, @PositiveOrZero) **/
+    @ExceptionHandler
+    public ResponseEntity<?> handleConstraintViolationException(final ConstraintViolationException e, ServerHttpRequest request) {
+        logger.error("not valid. Message: {}", e.getMessage(), e);
+        Map<String, Object> body = getGeneralErrorBody(HttpStatus.BAD_REQUEST, request);
+        List<String> errors = e.getConstraintViolations()
+                .stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.toList());
+        body.put(REASONS, errors);
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    /** Нет заголовка или параметра, неверный тип, нечитаемое тело - как стандартные ответы MVC **/
+    @ExceptionHandler
+    public ResponseEntity<?> handleResponseStatusException(final ResponseStatusException e) {
+        logger.error("request error. Message: {}", e.getMessage());
+        return ResponseEntity.status(e.getRawStatusCode()).headers(e.getResponseHeaders()).build();
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<?> handlerServiceUnavailableException(final ServiceUnavailableException ex, ServerHttpRequest request) {
+        logger.warn("server unavailable. Message: {}", ex.getMessage());
+        Map<String, Object> body = getGeneralErrorBody(HttpStatus.SERVICE_UNAVAILABLE, request);
+        body.put(REASONS, ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<?> handleThrowable(final Throwable e) {
+        return new ResponseEntity<>("an unexpected error has occurred.", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private Map<String, Object> getGeneralErrorBody(HttpStatus status, ServerHttpRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put(TIMESTAMP, OffsetDateTime.now());
+        body.put(STATUS, status.value());
+        body.put(ERROR, status.getReasonPhrase());
+        body.put(PATH, String.format("%s %s", request.getMethod(), request.getURI().getPath()));
+        return body;
+    }
+
+    private String getErrorString(ObjectError error) {
+        if (error instanceof FieldError) {
+            return ((FieldError) error).getField() + ' ' + error.getDefaultMessage();
+        }
+        return error.getDefaultMessage();
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.handler;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,9 +16,11 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NullObjectException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
 import ru.practicum.shareit.exception.ValidationException;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolationException;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -26,6 +29,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private static final String TIMESTAMP = "timestamp";
@@ -60,6 +64,27 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return handleExceptionInternal(ex, body, new HttpHeaders(), HttpStatus.CONFLICT, request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<?> handlerServiceUnavailableException(final ServiceUnavailableException ex, WebRequest request) {
+        logger.warn("server unavailable. Message: {}", ex.getMessage());
+        Map<String, Object> body = getGeneralErrorBody(HttpStatus.SERVICE_UNAVAILABLE, request);
+        body.put(REASONS, ex.getMessage());
+        return handleExceptionInternal(ex, body, new HttpHeaders(), HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    /** Нарушены ограничения параметров запроса (@Positive, @PositiveOrZero) **/
+    @ExceptionHandler
+    public ResponseEntity<?> handleConstraintViolationException(final ConstraintViolationException e, WebRequest request) {
+        logger.error("not valid. Message: {}", e.getMessage(), e);
+        Map<String, Object> body = getGeneralErrorBody(HttpStatus.BAD_REQUEST, request);
+        List<String> errors = e.getConstraintViolations()
+                .stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.toList());
+        body.put(REASONS, errors);
+        return handleExceptionInternal(e, body, new HttpHeaders(), HttpStatus.BAD_REQUEST, request);
+    }
+
     @ExceptionHandler
     public ResponseEntity<?> handleThrowable(final Throwable e) {
         return new ResponseEntity<>("an unexpected error has occurred.", HttpStatus.INTERNAL_SERVER_ERROR);
@@ -2,52 +2,72 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Hedging;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RouteGuard;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareitServerRequestFactory, SingleFlight singleFlight,
+                      ResponseCache responseCache, RouteGuard routeGuard, Hedging hedging) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                singleFlight,
+                responseCache,
+                routeGuard,
+                hedging
         );
     }
 
-    public Object addItem(Long userId, ItemDto itemDto) {
-        return post("", userId, itemDto).getBody();
+    public ResponseEntity<byte[]> addItem(Long userId, ItemDto itemDto) {
+        return post("", userId, itemDto);
     }
 
-    public Object updateItem(Long userId, ItemDto itemDto) {
-        return patch("/" + itemDto.getId(), userId, itemDto).getBody();
+    public ResponseEntity<byte[]> updateItem(Long userId, ItemDto itemDto) {
+        return patch("/" + itemDto.getId(), userId, itemDto);
     }
 
-    public Object getByItemId(Long userId, Long itemId) {
-        return get("/" + itemId, userId).getBody();
+    public ResponseEntity<byte[]> getByItemId(Long userId, Long itemId) {
+        return get("/" + itemId, userId);
     }
 
-    public Object getByUserIdItemAll(Long userId) {
-        return get("", userId).getBody();
+    public ResponseEntity<byte[]> getByUserIdItemAll(Long userId) {
+        return get("", userId);
     }
 
-    public Object getItemSearch(String search) {
-        Map<String, Object> parameters = Map.of("search", search);
-        return get("/search?text={search}", null, parameters).getBody();
+    public ResponseEntity<byte[]> getItemSearch(String search, Integer from, Integer size) {
+        if (size == null) {
+            return get("/search?text={search}&from={from}", null, Map.of("search", search, "from", from));
+        }
+        Map<String, Object> parameters = Map.of(
+                "search", search,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={search}&from={from}&size={size}", null, parameters);
     }
 
-    public Object addComment(Long userId, Long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto).getBody();
+    public ResponseEntity<byte[]> addComment(Long userId, Long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
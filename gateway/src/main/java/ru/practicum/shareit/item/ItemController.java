@@ -1,20 +1,23 @@
 package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import ru.practicum.shareit.client.JsonMetadata;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
-import java.util.List;
-import java.util.Map;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 @Slf4j
 @Validated
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(value = "/items",
         consumes = MediaType.ALL_VALUE,
         produces = MediaType.APPLICATION_JSON_VALUE
@@ -27,24 +30,23 @@ public class ItemController {
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> addItem(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> addItem(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                           @Valid @RequestBody ItemDto itemDto) {
-        ResponseEntity<Object> result = ResponseEntity.ok(itemClient.addItem(userId, itemDto));
-        Map<String, Object> body = (Map) result.getBody();
+        ResponseEntity<byte[]> result = itemClient.addItem(userId, itemDto);
         log.info("[POST:{}] add items[userId:{} itemId:{}]",
                 result.getStatusCode(),
                 userId,
-                body.get("id")
+                JsonMetadata.field(result.getBody(), "id")
         );
         return result;
     }
 
     @PatchMapping(path = "/{itemId}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> updateItem(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> updateItem(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                              @Valid @PathVariable Long itemId,
                                              @RequestBody ItemDto itemDto) {
         itemDto.setId(itemId);
-        ResponseEntity<Object> result = ResponseEntity.ok(itemClient.updateItem(userId, itemDto));
+        ResponseEntity<byte[]> result = itemClient.updateItem(userId, itemDto);
         log.info("[PATCH:{}] update items[userId:{} itemId:{}]",
                 result.getStatusCode(),
                 userId,
@@ -54,9 +56,9 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getByItemId(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> getByItemId(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                               @Valid @PathVariable Long itemId) {
-        ResponseEntity<Object> result = ResponseEntity.ok(itemClient.getByItemId(userId, itemId));
+        ResponseEntity<byte[]> result = itemClient.getByItemId(userId, itemId);
         log.info("[GET:{}] update items[userId:{} itemId:{}]",
                 result.getStatusCode(),
                 userId,
@@ -66,37 +68,41 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItemAll(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId) {
-        ResponseEntity<Object> result = ResponseEntity.ok(itemClient.getByUserIdItemAll(userId));
+    public ResponseEntity<byte[]> getUserItemAll(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId) {
+        ResponseEntity<byte[]> result = itemClient.getByUserIdItemAll(userId);
         log.info("[GET:{}] all items[userId:{} size:{}]",
                 result.getStatusCode(),
                 userId,
-                ((List) result.getBody()).size()
+                JsonMetadata.size(result.getBody())
         );
         return result;
     }
 
+    /** Без size - все найденные вещи, как до постраничного поиска **/
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemSearch(@RequestParam("text") String search) {
-        ResponseEntity<Object> result = ResponseEntity.ok(itemClient.getItemSearch(search));
-        log.info("[GET:{}] item search[text:{} size:{}]",
+    public ResponseEntity<byte[]> getItemSearch(@RequestParam("text") String search,
+                                                @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                @Positive @RequestParam(name = "size", required = false) Integer size) {
+        ResponseEntity<byte[]> result = itemClient.getItemSearch(search, from, size);
+        log.info("[GET:{}] item search[text:{} page:{} size:{}]",
                 result.getStatusCode(),
                 search,
-                ((List) result.getBody()).size()
+                from,
+                JsonMetadata.size(result.getBody())
         );
         return result;
     }
 
     @PostMapping(path = "{itemId}/comment", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> addComment(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<byte[]> addComment(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
                                              @PathVariable Long itemId,
                                              @RequestBody @Valid CommentDto commentDto) {
-        ResponseEntity<Object> result = ResponseEntity.ok(itemClient.addComment(userId, itemId, commentDto));
+        ResponseEntity<byte[]> result = itemClient.addComment(userId, itemId, commentDto);
         log.info("[POST:{}] add comment[authorId:{} commentId:{}]",
                 result.getStatusCode(),
                 userId,
-                ((Map<String, Object>) result.getBody()).get("id")
+                JsonMetadata.field(result.getBody(), "id")
         );
-        return ResponseEntity.ok(result.getBody());
+        return result;
     }
 }
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RouteGuard;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ItemReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ItemReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector shareitServerConnector, ResponseCache responseCache,
+                              RouteGuard routeGuard) {
+        super(
+                serverUrl + API_PREFIX,
+                builder.clientConnector(shareitServerConnector),
+                responseCache,
+                routeGuard
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> addItem(Long userId, ItemDto itemDto) {
+        return post("", userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateItem(Long userId, ItemDto itemDto) {
+        return patch("/" + itemDto.getId(), userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getByItemId(Long userId, Long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getByUserIdItemAll(Long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getItemSearch(String search, Integer from, Integer size) {
+        if (size == null) {
+            return get("/search?text={search}&from={from}", null, Map.of("search", search, "from", from));
+        }
+        Map<String, Object> parameters = Map.of(
+                "search", search,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={search}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> addComment(Long userId, Long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.JsonMetadata;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/** Те же маршруты и проверки, что у {@link ItemController}, для реактивного режима шлюза **/
+@Slf4j
+@Validated
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/items",
+        consumes = MediaType.ALL_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class ItemReactiveController {
+    private final ItemReactiveClient itemClient;
+
+    public ItemReactiveController(ItemReactiveClient itemClient) {
+        this.itemClient = itemClient;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> addItem(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                @Valid @RequestBody ItemDto itemDto) {
+        return itemClient.addItem(userId, itemDto)
+                .doOnNext(result -> log.info("[POST:{}] add items[userId:{} itemId:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        JsonMetadata.field(result.getBody(), "id")
+                ));
+    }
+
+    @PatchMapping(path = "/{itemId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> updateItem(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                   @Valid @PathVariable Long itemId,
+                                                   @RequestBody ItemDto itemDto) {
+        itemDto.setId(itemId);
+        return itemClient.updateItem(userId, itemDto)
+                .doOnNext(result -> log.info("[PATCH:{}] update items[userId:{} itemId:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        itemDto.getId()
+                ));
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<byte[]>> getByItemId(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                    @Valid @PathVariable Long itemId) {
+        return itemClient.getByItemId(userId, itemId)
+                .doOnNext(result -> log.info("[GET:{}] update items[userId:{} itemId:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        itemId
+                ));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getUserItemAll(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId) {
+        return itemClient.getByUserIdItemAll(userId)
+                .doOnNext(result -> log.info("[GET:{}] all items[userId:{} size:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        JsonMetadata.size(result.getBody())
+                ));
+    }
+
+    /** Без size - все найденные вещи, как до постраничного поиска **/
+    @GetMapping("/search")
+    public Mono<ResponseEntity<byte[]>> getItemSearch(@RequestParam("text") String search,
+                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                      @Positive @RequestParam(name = "size", required = false) Integer size) {
+        return itemClient.getItemSearch(search, from, size)
+                .doOnNext(result -> log.info("[GET:{}] item search[text:{} page:{} size:{}]",
+                        result.getStatusCode(),
+                        search,
+                        from,
+                        JsonMetadata.size(result.getBody())
+                ));
+    }
+
+    @PostMapping(path = "{itemId}/comment", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> addComment(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long itemId,
+                                                   @RequestBody @Valid CommentDto commentDto) {
+        return itemClient.addComment(userId, itemId, commentDto)
+                .doOnNext(result -> log.info("[POST:{}] add comment[authorId:{} commentId:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        JsonMetadata.field(result.getBody(), "id")
+                ));
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/** Отказ 429 с Retry-After до контроллера, если у пользователя кончились токены маршрута **/
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String USER_HEADER = "X-Sharer-User-Id";
+    static final byte[] TOO_MANY_REQUESTS = "{\"error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = rateLimiter.tryAcquire(request.getRequestURI(), request.getHeader(USER_HEADER));
+        if (wait == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter(wait));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(TOO_MANY_REQUESTS);
+    }
+
+    /** Retry-After в целых секундах, не меньше одной **/
+    static String retryAfter(long waitNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return String.valueOf(Math.max(1, (waitNanos + second - 1) / second));
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Ограничение частоты запросов одного пользователя (X-Sharer-User-Id) к шлюзу **/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    /** Сколько корзин пользователей держать в памяти, при переполнении вытесняются редкие **/
+    private long maxBuckets = 100_000;
+
+    /** Корзина без запросов дольше этого времени удаляется - должно быть не меньше времени полного пополнения **/
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** Шаблон пути (/bookings/owner/**) -> лимит; применяется самый точный подходящий шаблон **/
+    private Map<String, Limit> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        /** Запросов подряд без ожидания **/
+        private int capacity = 20;
+
+        /** Пополнение корзины, запросов в секунду **/
+        private double perSecond = 10;
+    }
+}
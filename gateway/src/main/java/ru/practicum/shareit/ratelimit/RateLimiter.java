@@ -0,0 +1,77 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Comparator;
+import java.util.function.LongSupplier;
+
+/**
+ * Корзины токенов по пользователю и маршруту. Карта корзин ограничена по размеру и удаляет простаивающие,
+ * поэтому память не растёт с числом пользователей: удалённая корзина и так была бы полной.
+ * Метрики: gateway.rate-limit.requests (route, result=allowed|rejected) и gateway.rate-limit.buckets.
+ **/
+public class RateLimiter {
+    private static final String METRIC = "gateway.rate-limit.requests";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry registry;
+    private final LongSupplier nanoTime;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry registry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.registry = registry;
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        Gauge.builder("gateway.rate-limit.buckets", buckets, Cache::estimatedSize)
+                .register(registry);
+    }
+
+    /** 0, если запрос пропущен, иначе через сколько наносекунд у пользователя появится токен **/
+    public long tryAcquire(String path, String userId) {
+        if (!properties.isEnabled() || userId == null) {
+            return 0;
+        }
+        String route = route(path);
+        if (route == null) {
+            return 0;
+        }
+        RateLimitProperties.Limit limit = properties.getRoutes().get(route);
+        TokenBucket bucket = buckets.get(route + "|" + userId,
+                key -> new TokenBucket(limit.getCapacity(), limit.getPerSecond()));
+        long wait = bucket.tryAcquire(nanoTime.getAsLong());
+        Counter.builder(METRIC)
+                .tag("route", route)
+                .tag("result", wait == 0 ? "allowed" : "rejected")
+                .register(registry)
+                .increment();
+        return wait;
+    }
+
+    /** Самый точный шаблон маршрута для пути или null, если путь не ограничен **/
+    private String route(String path) {
+        Comparator<String> specificity = matcher.getPatternComparator(path);
+        return properties.getRoutes().keySet().stream()
+                .filter(pattern -> matcher.match(pattern, path))
+                .min(specificity)
+                .orElse(null);
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Корзина токенов без блокировок в форме GCRA: вместо числа токенов хранится одно время tat,
+ * к которому корзина снова станет полной. Запрос забирает токен, сдвигая tat на интервал пополнения,
+ * если tat не уходит дальше чем на capacity интервалов вперёд.
+ **/
+final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(int capacity, double perSecond) {
+        this.intervalNanos = (long) (1_000_000_000L / perSecond);
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    /** 0, если токен получен, иначе через сколько наносекунд он появится **/
+    long tryAcquire(long now) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -2,45 +2,58 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Hedging;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RouteGuard;
+import ru.practicum.shareit.client.SingleFlight;
 
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory shareitServerRequestFactory, SingleFlight singleFlight,
+                             ResponseCache responseCache, RouteGuard routeGuard, Hedging hedging) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                singleFlight,
+                responseCache,
+                routeGuard,
+                hedging
         );
     }
 
-    public Object addItemRequest(Long userId, ItemRequestDto itemRequestDto) {
-        return post("", userId, itemRequestDto).getBody();
+    public ResponseEntity<byte[]> addItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
     }
 
-    public Object getAllRequestsByUser(Long userId) {
-        return get("", userId).getBody();
+    public ResponseEntity<byte[]> getAllRequestsByUser(Long userId) {
+        return get("", userId);
     }
 
-    public Object getAllRequests(Long userId, Integer from, Integer size) {
+    public ResponseEntity<byte[]> getAllRequests(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters).getBody();
+        return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public Object getRequest(Long userId, Long requestId) {
-        return get("/" + requestId, userId).getBody();
+    public ResponseEntity<byte[]> getRequest(Long userId, Long requestId) {
+        return get("/" + requestId, userId);
     }
 }
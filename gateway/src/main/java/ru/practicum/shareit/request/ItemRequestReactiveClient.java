@@ -0,0 +1,53 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RouteGuard;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ItemRequestReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ItemRequestReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                     ClientHttpConnector shareitServerConnector, ResponseCache responseCache,
+                                     RouteGuard routeGuard) {
+        super(
+                serverUrl + API_PREFIX,
+                builder.clientConnector(shareitServerConnector),
+                responseCache,
+                routeGuard
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> addItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllRequestsByUser(Long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllRequests(Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getRequest(Long userId, Long requestId) {
+        return get("/" + requestId, userId);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.request;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.JsonMetadata;
+
+import javax.validation.Valid;
+
+/** Те же маршруты и проверки, что у {@link ItemRequestController}, для реактивного режима шлюза **/
+@Slf4j
+@Validated
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+@RequestMapping(value = "/requests",
+        consumes = MediaType.ALL_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class ItemRequestReactiveController {
+    private final ItemRequestReactiveClient itemRequestClient;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> addItemRequest(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                       @Valid @RequestBody ItemRequestDto itemRequestDto) {
+        return itemRequestClient.addItemRequest(userId, itemRequestDto)
+                .doOnNext(result -> log.info("[POST:{}] addItemRequest[userId:{} itemRequestId:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        JsonMetadata.field(result.getBody(), "id")
+                ));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAllRequestsByUser(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId) {
+        return itemRequestClient.getAllRequestsByUser(userId)
+                .doOnNext(result -> log.info("[GET:{}] all request[userId:{} size:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        JsonMetadata.size(result.getBody())
+                ));
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<byte[]>> getAllRequests(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                       @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return itemRequestClient.getAllRequests(userId, from, size)
+                .doOnNext(result -> log.info("[GET:{}] all request[userId:{} page:{} size:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        from,
+                        JsonMetadata.size(result.getBody())
+                ));
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<byte[]>> getRequest(@Valid @RequestHeader(required = false, value = "X-Sharer-User-Id") Long userId,
+                                                   @Valid @PathVariable Long requestId) {
+        return itemRequestClient.getRequest(userId, requestId)
+                .doOnNext(result -> log.info("[GET:{}] request[userId:{} requestId:{}]",
+                        result.getStatusCode(),
+                        userId,
+                        JsonMetadata.field(result.getBody(), "id")
+                ));
+    }
+}
@@ -2,45 +2,58 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Hedging;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RouteGuard;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareitServerRequestFactory, SingleFlight singleFlight,
+                      ResponseCache responseCache, RouteGuard routeGuard, Hedging hedging) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                singleFlight,
+                responseCache,
+                routeGuard,
+                hedging
         );
     }
 
-    public Object newUser(UserDto userDto) {
-        return post("", userDto).getBody();
+    public ResponseEntity<byte[]> newUser(UserDto userDto) {
+        return post("", userDto);
     }
 
-    public Object updateUser(Long userId, UserUpdateDto userUpdateDto) {
-        return patch("/" + userId, userUpdateDto).getBody();
+    public ResponseEntity<byte[]> updateUser(Long userId, UserUpdateDto userUpdateDto) {
+        return patch("/" + userId, userUpdateDto);
     }
 
-    public Object getByUserId(Long userId) {
-        return get("/" + userId, userId).getBody();
+    public ResponseEntity<byte[]> getByUserId(Long userId) {
+        return get("/" + userId, userId);
     }
 
-    public Object getUserAll() {
-        return get("").getBody();
+    public ResponseEntity<byte[]> getUserAll() {
+        return get("");
     }
 
-    public Object deleteUser(Long userId) {
-        return delete("/" + userId, userId).getBody();
+    public ResponseEntity<byte[]> deleteUser(Long userId) {
+        return delete("/" + userId, userId);
     }
 }
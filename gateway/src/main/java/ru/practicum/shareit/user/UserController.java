@@ -1,21 +1,21 @@
 package ru.practicum.shareit.user;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.JsonMetadata;
 import ru.practicum.shareit.user.dto.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
-import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Validated
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/users",
         consumes = MediaType.ALL_VALUE,
         produces = MediaType.APPLICATION_JSON_VALUE
@@ -29,22 +29,21 @@ public class UserController {
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> newUser(@Valid @RequestBody UserDto userCreateDto) {
-        ResponseEntity<Object> result = ResponseEntity.ok(userClient.newUser(userCreateDto));
-        Map<String, Object> body = (Map) result.getBody();
+    public ResponseEntity<byte[]> newUser(@Valid @RequestBody UserDto userCreateDto) {
+        ResponseEntity<byte[]> result = userClient.newUser(userCreateDto);
         log.info("[POST:{}] add user[id:{} email:{}]",
                 result.getStatusCode(),
-                body.get("id"),
-                body.get("email")
+                JsonMetadata.field(result.getBody(), "id"),
+                JsonMetadata.field(result.getBody(), "email")
         );
         return result;
     }
 
     @PatchMapping(path = "/{userId}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> updateUser(@Valid @PathVariable Long userId,
+    public ResponseEntity<byte[]> updateUser(@Valid @PathVariable Long userId,
                                              @Valid @RequestBody UserUpdateDto userDto) {
         userDto.setId(userId);
-        ResponseEntity<Object> result = ResponseEntity.ok(userClient.updateUser(userId, userDto));
+        ResponseEntity<byte[]> result = userClient.updateUser(userId, userDto);
         log.info("[PATCH:{}] update user[id:{} email:{}]",
                 result.getStatusCode(),
                 userDto.getId(),
@@ -54,30 +53,29 @@ public class UserController {
     }
 
     @GetMapping("{userId}")
-    public ResponseEntity<Object> getByUserId(@Valid @PathVariable @NotNull Long userId) {
-        ResponseEntity<Object> result = ResponseEntity.ok(userClient.getByUserId(userId));
-        Map<String, Object> body = (Map) result.getBody();
+    public ResponseEntity<byte[]> getByUserId(@Valid @PathVariable @NotNull Long userId) {
+        ResponseEntity<byte[]> result = userClient.getByUserId(userId);
         log.info("[GET:{}] user[id:{} email:{}]",
                 result.getStatusCode(),
-                body.get("id"),
-                body.get("email")
+                JsonMetadata.field(result.getBody(), "id"),
+                JsonMetadata.field(result.getBody(), "email")
         );
         return result;
     }
 
     @GetMapping
-    public Object getUserAll() {
-        ResponseEntity<Object> result = ResponseEntity.ok(userClient.getUserAll());
+    public ResponseEntity<byte[]> getUserAll() {
+        ResponseEntity<byte[]> result = userClient.getUserAll();
         log.info("[GET:{}] all users[size:{}]",
                 result.getStatusCode(),
-                ((List) result.getBody()).size());
+                JsonMetadata.size(result.getBody()));
         return result;
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Void> deleteUser(@Valid @PathVariable @NotNull Long userId) {
-        ResponseEntity<Object> result = ResponseEntity.ok(userClient.deleteUser(userId));
+    public ResponseEntity<byte[]> deleteUser(@Valid @PathVariable @NotNull Long userId) {
+        ResponseEntity<byte[]> result = userClient.deleteUser(userId);
         log.info("[DELETE:{}] user[id:{}]", result.getStatusCode(), userId);
-        return new ResponseEntity<>(HttpStatus.OK);
+        return result;
     }
 }
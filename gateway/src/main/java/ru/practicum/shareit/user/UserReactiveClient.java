@@ -0,0 +1,53 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RouteGuard;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public UserReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector shareitServerConnector, ResponseCache responseCache,
+                              RouteGuard routeGuard) {
+        super(
+                serverUrl + API_PREFIX,
+                builder.clientConnector(shareitServerConnector),
+                responseCache,
+                routeGuard
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> newUser(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateUser(Long userId, UserUpdateDto userUpdateDto) {
+        return patch("/" + userId, userUpdateDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getByUserId(Long userId) {
+        return get("/" + userId, userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getUserAll() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<byte[]>> deleteUser(Long userId) {
+        return delete("/" + userId, userId);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.JsonMetadata;
+import ru.practicum.shareit.user.dto.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/** Те же маршруты и проверки, что у {@link UserController}, для реактивного режима шлюза **/
+@Slf4j
+@Validated
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users",
+        consumes = MediaType.ALL_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+
+public class UserReactiveController {
+    private final UserReactiveClient userClient;
+
+    public UserReactiveController(UserReactiveClient userClient) {
+        this.userClient = userClient;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> newUser(@Valid @RequestBody UserDto userCreateDto) {
+        return userClient.newUser(userCreateDto)
+                .doOnNext(result -> log.info("[POST:{}] add user[id:{} email:{}]",
+                        result.getStatusCode(),
+                        JsonMetadata.field(result.getBody(), "id"),
+                        JsonMetadata.field(result.getBody(), "email")
+                ));
+    }
+
+    @PatchMapping(path = "/{userId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> updateUser(@Valid @PathVariable Long userId,
+                                                   @Valid @RequestBody UserUpdateDto userDto) {
+        userDto.setId(userId);
+        return userClient.updateUser(userId, userDto)
+                .doOnNext(result -> log.info("[PATCH:{}] update user[id:{} email:{}]",
+                        result.getStatusCode(),
+                        userDto.getId(),
+                        userDto.getEmail()
+                ));
+    }
+
+    @GetMapping("{userId}")
+    public Mono<ResponseEntity<byte[]>> getByUserId(@Valid @PathVariable @NotNull Long userId) {
+        return userClient.getByUserId(userId)
+                .doOnNext(result -> log.info("[GET:{}] user[id:{} email:{}]",
+                        result.getStatusCode(),
+                        JsonMetadata.field(result.getBody(), "id"),
+                        JsonMetadata.field(result.getBody(), "email")
+                ));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getUserAll() {
+        return userClient.getUserAll()
+                .doOnNext(result -> log.info("[GET:{}] all users[size:{}]",
+                        result.getStatusCode(),
+                        JsonMetadata.size(result.getBody())));
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<byte[]>> deleteUser(@Valid @PathVariable @NotNull Long userId) {
+        return userClient.deleteUser(userId)
+                .doOnNext(result -> log.info("[DELETE:{}] user[id:{}]", result.getStatusCode(), userId));
+    }
+}
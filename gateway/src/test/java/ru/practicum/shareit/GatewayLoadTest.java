@@ -0,0 +1,156 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Нагрузочное сравнение режимов шлюза на заглушке сервера, отвечающей с задержкой.
+ * Обоим режимам дано одинаково мало потоков: Tomcat обрабатывает столько запросов одновременно,
+ * сколько у него потоков, реактивный шлюз держит в полёте все запросы на тех же двух event-loop потоках.
+ * Запускается только в профиле bench: mvn -Pbench -pl gateway -am test
+ **/
+@Tag("load")
+class GatewayLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(GatewayLoadTest.class);
+    private static final int THREADS = 2;
+    private static final int REQUESTS = 32;
+    private static final long SERVER_LATENCY_MS = 200;
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS * 2);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SERVER_LATENCY_MS);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, EMPTY_LIST.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(EMPTY_LIST);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void reactiveGatewayKeepsAllRequestsInFlight() throws Exception {
+        LoadResult servlet = load(
+                "server.tomcat.threads.max=" + THREADS,
+                "server.tomcat.threads.min-spare=" + THREADS
+        );
+        LoadResult reactive = load(
+                "spring.profiles.active=reactive",
+                "shareit-gateway.event-loop-threads=" + THREADS
+        );
+        log.info("{} requests, {} threads, server latency {} ms: servlet {} ms (peak {}), reactive {} ms (peak {})",
+                REQUESTS, THREADS, SERVER_LATENCY_MS,
+                servlet.elapsed.toMillis(), servlet.peak, reactive.elapsed.toMillis(), reactive.peak);
+
+        assertThat(servlet.statuses, everyItem(equalTo(200)));
+        assertThat(reactive.statuses, everyItem(equalTo(200)));
+        assertThat(servlet.peak, lessThanOrEqualTo(THREADS));
+        assertThat(reactive.peak, greaterThan(REQUESTS / 2));
+        assertThat(reactive.elapsed, lessThan(servlet.elapsed.dividedBy(2)));
+    }
+
+    private LoadResult load(String... properties) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--shareit-server.url=http://localhost:" + server.getAddress().getPort()
+        ));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItGateway.class)
+                .run(args.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+
+            // прогрев: первый запрос инициализирует обработчики и соединение с сервером
+            client.send(search(port, "warmup"), HttpResponse.BodyHandlers.discarding());
+            peak.set(0);
+
+            // разный текст поиска - запросы не объединяются и не берутся из кэша шлюза
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(client.sendAsync(search(port, "drill" + i), HttpResponse.BodyHandlers.discarding()));
+            }
+            List<Integer> statuses = new ArrayList<>();
+            for (CompletableFuture<HttpResponse<Void>> response : responses) {
+                statuses.add(response.get().statusCode());
+            }
+            return new LoadResult(Duration.ofNanos(System.nanoTime() - start), peak.get(), statuses);
+        }
+    }
+
+    private static HttpRequest search(int port, String text) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/search?text=" + text))
+                .GET()
+                .build();
+    }
+
+    private static class LoadResult {
+        private final Duration elapsed;
+        private final int peak;
+        private final List<Integer> statuses;
+
+        private LoadResult(Duration elapsed, int peak, List<Integer> statuses) {
+            this.elapsed = elapsed;
+            this.peak = peak;
+            this.statuses = statuses;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,11 +8,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.StatusBooking;
 import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingStatusUpdateDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -22,6 +25,7 @@ import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -53,7 +57,7 @@ class BookingControllerTest {
     @Test
     void addBooking() throws Exception {
         when(bookingClient.addBooking(anyLong(), any(BookingDto.class)))
-                .thenReturn(bookingDto);
+                .thenReturn(json(bookingDto));
 
         mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDto))
@@ -65,10 +69,63 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.id", is(bookingDto.get("id")), Long.class));
     }
 
+    @Test
+    void addBookings() throws Exception {
+        BookingDto insert = new BookingDto(null, 1L, dateTime.plusHours(1), dateTime.plusHours(2));
+        when(bookingClient.addBookings(anyLong(), anyList()))
+                .thenReturn(json(List.of(Map.of("index", 0, "booking", bookingDto))));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(insert)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.get("id")), Long.class));
+    }
+
+    @Test
+    void addBookingsEmpty() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void statusBookings() throws Exception {
+        when(bookingClient.statusBookings(anyLong(), any(BookingStatusUpdateDto.class)))
+                .thenReturn(json(List.of(Map.of("index", 0, "booking", bookingDto))));
+
+        mvc.perform(patch("/bookings/status")
+                        .content(mapper.writeValueAsString(new BookingStatusUpdateDto(List.of(1L), true)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.get("id")), Long.class));
+    }
+
+    @Test
+    void statusBookingsWithoutDecision() throws Exception {
+        mvc.perform(patch("/bookings/status")
+                        .content(mapper.writeValueAsString(new BookingStatusUpdateDto(List.of(1L), null)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void statusBooking() throws Exception {
         when(bookingClient.statusBooking(anyLong(), anyLong(), anyString()))
-                .thenReturn(bookingDto);
+                .thenReturn(json(bookingDto));
 
         mvc.perform(patch("/bookings/1?approved=true")
                         .content(mapper.writeValueAsString(bookingDto))
@@ -83,7 +140,7 @@ class BookingControllerTest {
     @Test
     void getAllByUserOwner() throws Exception {
         when(bookingClient.getAllBookingsByOwner(anyLong(), any(StatusBooking.class), anyInt(), anyInt()))
-                .thenReturn(List.of(bookingDto));
+                .thenReturn(json(List.of(bookingDto)));
 
         mvc.perform(get("/bookings/owner?state=ALL")
                         .content(mapper.writeValueAsString(bookingDto))
@@ -96,7 +153,7 @@ class BookingControllerTest {
     @Test
     void getAllBookingsByUser() throws Exception {
         when(bookingClient.getAllBookingsByUser(anyLong(), any(StatusBooking.class), anyInt(), anyInt()))
-                .thenReturn(List.of(bookingDto));
+                .thenReturn(json(List.of(bookingDto)));
 
         mvc.perform(get("/bookings")
                         .content(mapper.writeValueAsString(bookingDto))
@@ -105,4 +162,62 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(bookingDto.get("id")), Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBookingsByOwnerCursor() throws Exception {
+        when(bookingClient.getAllBookingsByOwner(anyLong(), any(StatusBooking.class), anyString(), anyInt()))
+                .thenReturn(json(Map.of("content", List.of(bookingDto), "nextCursor", "next")));
+
+        mvc.perform(get("/bookings/owner?state=ALL&cursor=&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(bookingDto.get("id")), Long.class))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    void getAllBookingsByUserCursor() throws Exception {
+        when(bookingClient.getAllBookingsByUser(anyLong(), any(StatusBooking.class), anyString(), anyInt()))
+                .thenReturn(json(Map.of("content", List.of(bookingDto))));
+
+        mvc.perform(get("/bookings?state=ALL&cursor=abc&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(bookingDto.get("id")), Long.class));
+    }
+
+    @Test
+    void getAllBookingsCursorInvalidSize() throws Exception {
+        mvc.perform(get("/bookings/owner?state=ALL&cursor=&size=0")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/bookings?state=ALL&cursor=&size=-5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void missingUserIdBadRequest() throws Exception {
+        for (String uri : List.of("/bookings/1", "/bookings?state=ALL&from=0&size=10", "/bookings/owner/summary",
+                "/bookings?state=ALL&cursor=&size=10", "/bookings/owner?state=ALL&cursor=abc&size=10")) {
+            mvc.perform(get(uri)
+                            .characterEncoding(StandardCharsets.UTF_8))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    private ResponseEntity<byte[]> json(Object body) throws JsonProcessingException {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(mapper.writeValueAsBytes(body));
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingReactiveClient;
+import ru.practicum.shareit.booking.BookingReactiveController;
+import ru.practicum.shareit.booking.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.exception.NullObjectException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = BookingReactiveController.class)
+class BookingReactiveControllerTest {
+    @MockBean
+    private BookingReactiveClient bookingClient;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private WebTestClient client;
+
+    private Map<String, Object> bookingDto;
+    private final LocalDateTime dateTime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void setUp() {
+        bookingDto = new HashMap<>();
+        bookingDto.put("id", 1L);
+        bookingDto.put("start", dateTime.plusHours(1));
+        bookingDto.put("end", dateTime.plusHours(2));
+        bookingDto.put("status", StatusBooking.APPROVED.toString());
+    }
+
+    @Test
+    void addBooking() throws Exception {
+        when(bookingClient.addBooking(anyLong(), any(BookingDto.class)))
+                .thenReturn(json(bookingDto));
+
+        client.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(bookingDto))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void addBookingInPast() throws Exception {
+        bookingDto.put("start", dateTime.minusHours(1));
+
+        client.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(bookingDto))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").exists();
+    }
+
+    @Test
+    void addBookingsEmpty() {
+        client.post().uri("/bookings/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void statusBookingsWithoutDecision() throws Exception {
+        client.patch().uri("/bookings/status")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(new BookingStatusUpdateDto(List.of(1L), null)))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.reasons[0]").isEqualTo("approved must not be null");
+    }
+
+    @Test
+    void getAllBookingsByUserUnknownState() {
+        client.get().uri("/bookings?state=UNSUPPORTED")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Unknown state: UNSUPPORTED");
+    }
+
+    @Test
+    void getAllBookingsByOwner() throws Exception {
+        when(bookingClient.getAllBookingsByOwner(anyLong(), any(StatusBooking.class), anyInt(), anyInt()))
+                .thenReturn(json(List.of(bookingDto)));
+
+        client.get().uri("/bookings/owner?state=ALL&from=0&size=10")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1);
+    }
+
+    @Test
+    void getAllBookingsByUserCursorInvalidSize() {
+        client.get().uri("/bookings?state=ALL&cursor=&size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void getBookingNotFound() {
+        when(bookingClient.getBooking(anyLong(), anyLong()))
+                .thenReturn(Mono.error(new NullObjectException("Not Found")));
+
+        client.get().uri("/bookings/99")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.path").isEqualTo("GET /bookings/99");
+    }
+
+    @Test
+    void missingUserIdBadRequest() {
+        for (String uri : List.of("/bookings/1", "/bookings?state=ALL&from=0&size=10", "/bookings/owner/summary",
+                "/bookings?state=ALL&cursor=&size=10", "/bookings/owner?state=ALL&cursor=abc&size=10")) {
+            client.get().uri(uri)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    private Mono<ResponseEntity<byte[]>> json(Object body) throws JsonProcessingException {
+        return Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(mapper.writeValueAsBytes(body)));
+    }
+}
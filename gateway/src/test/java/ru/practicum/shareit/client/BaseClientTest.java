@@ -0,0 +1,191 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.exception.NullObjectException;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+class BaseClientTest {
+    private static final String BODY = "{\"id\":1,\"name\":\"item\"}";
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest);
+    }
+
+    @Test
+    void getPassesBodyStatusAndHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Trace", "abc");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "5"))
+                .andRespond(withStatus(HttpStatus.CREATED)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(headers)
+                        .body(BODY));
+
+        ResponseEntity<byte[]> response = client.get("/1", 5L);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.CREATED));
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8), equalTo(BODY));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getFirst("X-Trace"), equalTo("abc"));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONNECTION), nullValue());
+        server.verify();
+    }
+
+    @Test
+    void getServerErrorPassedThrough() {
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"boom\"}"));
+
+        ResponseEntity<byte[]> response = client.get("/1", 5L);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThat(JsonMetadata.field(response.getBody(), "error"), equalTo("boom"));
+    }
+
+    @Test
+    void getCachedRouteServedFromCache() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setRoutes(Map.of("/items/search", Duration.ofSeconds(30)));
+        client = new BaseClient(rest, null, new ResponseCache(properties, new SimpleMeterRegistry()), null, null);
+        server.expect(ExpectedCount.twice(), requestTo("http://server/items/search?text=drill"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("[]"));
+        server.expect(requestTo("http://server/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+
+        client.get("/search?text={text}", null, Map.of("text", "drill"));
+        client.get("/search?text={text}", null, Map.of("text", "drill"));
+        client.post("", 1L, Map.of("name", "item"));
+        ResponseEntity<byte[]> response = client.get("/search?text={text}", null, Map.of("text", "drill"));
+
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8), equalTo("[]"));
+        server.verify();
+    }
+
+    /** Без пользователя запрос уходит без X-Sharer-User-Id, а не падает на распаковке userId **/
+    @Test
+    void getWithoutUser() {
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(headerDoesNotExist("X-Sharer-User-Id"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+        Long userId = null;
+
+        assertThat(client.get("/1", userId).getStatusCode(), equalTo(HttpStatus.OK));
+        server.verify();
+    }
+
+    @Test
+    void getNotFound() {
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThrows(NullObjectException.class, () -> client.get("/1", 5L));
+    }
+
+    /** Повтор ответил раньше - HTTP-запрос первого прерывается, circuit breaker не считает это ошибкой **/
+    @Test
+    void hedgeAbortsSlowHttpRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowCalls = new AtomicInteger();
+        HttpServer stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/slow") && slowCalls.incrementAndGet() == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = String.valueOf(slowCalls.get()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stub.start();
+
+        HedgingProperties properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setMinSamples(5);
+        properties.setMinDelay(Duration.ofMillis(50));
+        Hedging hedging = new Hedging(properties, new SimpleMeterRegistry());
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .ignoreExceptions(HedgeAbortedException.class)
+                .build());
+        RouteGuard routeGuard = new RouteGuard(circuitBreakers, BulkheadRegistry.ofDefaults());
+        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+            RestTemplate http = new RestTemplate(new HttpClientConfig().shareitServerRequestFactory(httpClient));
+            http.setUriTemplateHandler(new DefaultUriBuilderFactory(
+                    "http://localhost:" + stub.getAddress().getPort() + "/items"));
+            BaseClient hedged = new BaseClient(http, null, null, routeGuard, hedging);
+            for (int i = 0; i < 5; i++) {
+                hedged.get("/1", 5L);
+            }
+
+            long start = System.nanoTime();
+            ResponseEntity<byte[]> response = hedged.get("/slow", 5L);
+
+            assertThat(new String(response.getBody(), StandardCharsets.UTF_8), equalTo("2"));
+            assertThat(Duration.ofNanos(System.nanoTime() - start), lessThan(Duration.ofSeconds(2)));
+            assertThat(circuitBreakers.circuitBreaker("items").getMetrics().getNumberOfFailedCalls(), equalTo(0));
+        } finally {
+            release.countDown();
+            hedging.shutdown();
+            stub.stop(0);
+        }
+    }
+}
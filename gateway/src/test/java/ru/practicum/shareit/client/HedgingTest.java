@@ -0,0 +1,272 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.NullObjectException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HedgingTest {
+    private static final int SAMPLES = 5;
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MeterRegistry registry;
+    private HedgingProperties properties;
+    private Hedging hedging;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setMinSamples(SAMPLES);
+        properties.setMinDelay(Duration.ofMillis(10));
+        properties.setMaxDelay(Duration.ofMillis(50));
+        properties.setThreads(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hedging.shutdown();
+    }
+
+    @Test
+    void slowCallAnsweredByHedge() {
+        hedging = new Hedging(properties, registry);
+        warmUp();
+
+        long start = System.nanoTime();
+        ResponseEntity<byte[]> response = hedging.execute("items", slowFirst());
+
+        assertThat(body(response), equalTo("2"));
+        assertThat(Duration.ofNanos(System.nanoTime() - start), lessThan(Duration.ofSeconds(1)));
+        assertThat(count("sent"), equalTo(1.0));
+        assertThat(count("won"), equalTo(1.0));
+        // прерванный первый запрос не замер задержки сервера
+        assertThat(latency().count(), equalTo((long) SAMPLES + 1));
+    }
+
+    @Test
+    void unabortableSlowCallRecordsSavedTime() throws Exception {
+        hedging = new Hedging(properties, registry);
+        warmUp();
+
+        // первый запрос отпускается, когда повтор уже ответил
+        Thread releaser = new Thread(() -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (count("won") == 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+        });
+        releaser.start();
+
+        assertThat(body(hedging.execute("items", unabortableSlowFirst())), equalTo("2"));
+        releaser.join();
+
+        assertThat(count("won"), equalTo(1.0));
+        assertThat(registry.get("gateway.hedge.latency.saved").timer().count(), equalTo(1L));
+    }
+
+    @Test
+    void primaryRunsOnCallerThread() {
+        hedging = new Hedging(properties, registry);
+        warmUp();
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> executed = new AtomicReference<>();
+
+        hedging.execute("items", () -> {
+            executed.set(Thread.currentThread());
+            return ResponseEntity.ok(new byte[0]);
+        });
+
+        assertThat(executed.get(), sameInstance(caller));
+        assertThat(count("sent"), equalTo(0.0));
+    }
+
+    @Test
+    void failuresRecordedInLatency() {
+        hedging = new Hedging(properties, registry);
+
+        assertThrows(IllegalStateException.class, () -> hedging.execute("items", () -> {
+            throw new IllegalStateException("Connection refused");
+        }));
+        assertThat(latency().count(), equalTo(1L));
+
+        warmUp();
+        assertThrows(IllegalStateException.class, () -> hedging.execute("items", () -> {
+            throw new IllegalStateException("Connection refused");
+        }));
+        assertThat(latency().count(), equalTo((long) SAMPLES + 2));
+    }
+
+    @Test
+    void budgetLimitsHedges() {
+        properties.setBudgetPercent(0);
+        properties.setMaxBurst(1);
+        hedging = new Hedging(properties, registry);
+        warmUp();
+
+        assertThat(body(hedging.execute("items", slowFirst())), equalTo("2"));
+        release.countDown();
+        calls.set(0);
+        assertThat(body(hedging.execute("items", delayed(100))), equalTo("1"));
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(count("sent"), equalTo(1.0));
+        assertThat(count("no-budget"), equalTo(1.0));
+    }
+
+    @Test
+    void noHedgeUntilEnoughSamples() {
+        hedging = new Hedging(properties, registry);
+
+        assertThat(body(hedging.execute("items", delayed(100))), equalTo("1"));
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(count("sent"), equalTo(0.0));
+    }
+
+    @Test
+    void errorBeforeDelayPropagated() {
+        hedging = new Hedging(properties, registry);
+        warmUp();
+
+        assertThrows(NullObjectException.class, () -> hedging.execute("items", () -> {
+            throw new NullObjectException("Not Found");
+        }));
+        assertThat(count("sent"), equalTo(0.0));
+    }
+
+    /** Первый запрос получил 404, пока повтор ещё в пути: ошибка отдаётся сразу, повтор прерывается **/
+    @Test
+    void primaryClientErrorAbortsHedge() {
+        hedging = new Hedging(properties, registry);
+        warmUp();
+        CountDownLatch hedgeSent = new CountDownLatch(1);
+        AtomicBoolean hedgeAborted = new AtomicBoolean();
+
+        long start = System.nanoTime();
+        assertThrows(NullObjectException.class, () -> hedging.execute("items", () -> {
+            if (calls.incrementAndGet() == 1) {
+                await(hedgeSent);
+                throw new NullObjectException("Not Found");
+            }
+            Hedging.onAbort(() -> {
+                hedgeAborted.set(true);
+                release.countDown();
+            });
+            hedgeSent.countDown();
+            await(release);
+            throw new HedgeAbortedException(null);
+        }));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start), lessThan(Duration.ofSeconds(1)));
+        assertThat(hedgeAborted.get(), equalTo(true));
+        assertThat(count("sent"), equalTo(1.0));
+        assertThat(count("won"), equalTo(0.0));
+    }
+
+    @Test
+    void disabled() {
+        properties.setEnabled(false);
+        hedging = new Hedging(properties, registry);
+        warmUp();
+        calls.set(0);
+
+        assertThat(body(hedging.execute("items", delayed(100))), equalTo("1"));
+
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < SAMPLES; i++) {
+            hedging.execute("items", () -> ResponseEntity.ok(new byte[0]));
+        }
+    }
+
+    /**
+     * Первый вызов ждёт release, следующие отвечают сразу; в теле - номер вызова.
+     * Первый регистрирует прерывание, как HTTP-запрос в фабрике запросов шлюза.
+     **/
+    private Supplier<ResponseEntity<byte[]>> slowFirst() {
+        return () -> {
+            int call = calls.incrementAndGet();
+            if (call == 1) {
+                AtomicBoolean aborted = new AtomicBoolean();
+                Hedging.onAbort(() -> {
+                    aborted.set(true);
+                    release.countDown();
+                });
+                await(release);
+                if (aborted.get()) {
+                    throw new HedgeAbortedException(null);
+                }
+            }
+            return ResponseEntity.ok(String.valueOf(call).getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    /** Как slowFirst, но первый вызов прервать нельзя - он ждёт release до конца **/
+    private Supplier<ResponseEntity<byte[]>> unabortableSlowFirst() {
+        return () -> {
+            int call = calls.incrementAndGet();
+            if (call == 1) {
+                await(release);
+            }
+            return ResponseEntity.ok(String.valueOf(call).getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private Supplier<ResponseEntity<byte[]>> delayed(long millis) {
+        return () -> {
+            int call = calls.incrementAndGet();
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.ok(String.valueOf(call).getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private Timer latency() {
+        return registry.get("gateway.server.latency").tag("route", "items").timer();
+    }
+
+    private double count(String outcome) {
+        return registry.get("gateway.hedge.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static String body(ResponseEntity<byte[]> response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+class HttpClientConfigTest {
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class)
+            .withPropertyValues(
+                    "shareit-server.http.max-connections=50",
+                    "shareit-server.http.max-connections-per-route=20"
+            );
+
+    @Test
+    void poolConfigured() {
+        contextRunner.run(context -> {
+            PoolingHttpClientConnectionManager connectionManager =
+                    context.getBean(PoolingHttpClientConnectionManager.class);
+
+            assertThat(connectionManager.getMaxTotal(), equalTo(50));
+            assertThat(connectionManager.getDefaultMaxPerRoute(), equalTo(20));
+            assertThat(context.getBean(ClientHttpRequestFactory.class), notNullValue());
+        });
+    }
+
+    @Test
+    void poolMetrics() {
+        contextRunner.run(context -> {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", "shareit-server")
+                    .gauge()
+                    .value(), equalTo(50.0));
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class JsonMetadataTest {
+    private static final byte[] BOOKING = bytes("{\"start\":\"2022-10-01T10:00:00\",\"item\":{\"name\":\"drill\"," +
+            "\"tags\":[1,2],\"id\":7},\"booker\":{\"id\":3},\"id\":12}");
+
+    @Test
+    void field() {
+        assertThat(JsonMetadata.field(BOOKING, "id"), equalTo("12"));
+        assertThat(JsonMetadata.field(BOOKING, "item", "id"), equalTo("7"));
+        assertThat(JsonMetadata.field(BOOKING, "booker", "id"), equalTo("3"));
+    }
+
+    @Test
+    void fieldMissingOrNotScalar() {
+        assertThat(JsonMetadata.field(BOOKING, "email"), nullValue());
+        assertThat(JsonMetadata.field(BOOKING, "item"), nullValue());
+        assertThat(JsonMetadata.field(BOOKING, "id", "id"), nullValue());
+        assertThat(JsonMetadata.field(bytes("[{\"id\":1}]"), "id"), nullValue());
+        assertThat(JsonMetadata.field(new byte[0], "id"), nullValue());
+        assertThat(JsonMetadata.field(null, "id"), nullValue());
+    }
+
+    @Test
+    void size() {
+        assertThat(JsonMetadata.size(bytes("[{\"id\":1,\"items\":[1,2,3]},{\"id\":2},3]")), equalTo(3));
+        assertThat(JsonMetadata.size(bytes("[]")), equalTo(0));
+        assertThat(JsonMetadata.size(bytes("{\"nextCursor\":\"a\",\"content\":[{},{}]}"), "content"), equalTo(2));
+    }
+
+    @Test
+    void sizeNotArray() {
+        assertThat(JsonMetadata.size(BOOKING), equalTo(-1));
+        assertThat(JsonMetadata.size(BOOKING, "item"), equalTo(-1));
+        assertThat(JsonMetadata.size(bytes("{\"content\":")), equalTo(-1));
+        assertThat(JsonMetadata.size(null), equalTo(-1));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ReactiveBaseClientTest {
+    private static final String BODY = "[{\"id\":1,\"name\":\"item\"}]";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private CircuitBreakerRegistry circuitBreakers;
+    private ResponseCache responseCache;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntries(10);
+        properties.setRoutes(Map.of("/items/search", Duration.ofSeconds(30)));
+        responseCache = new ResponseCache(properties, new SimpleMeterRegistry());
+        circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(BODY)
+                    .build());
+        });
+        client = new TestClient(builder, responseCache, new RouteGuard(circuitBreakers, BulkheadRegistry.ofDefaults()));
+    }
+
+    @Test
+    void cachedGetAnsweredOnce() {
+        assertThat(body(client.search().block()), equalTo(BODY));
+        assertThat(body(client.search().block()), equalTo(BODY));
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(circuitBreakers.circuitBreaker("items").getMetrics().getNumberOfSuccessfulCalls(), equalTo(1));
+    }
+
+    @Test
+    void writeEvictsSection() {
+        client.search().block();
+        client.add().block();
+        client.search().block();
+
+        assertThat(calls.get(), equalTo(3));
+        assertThat(responseCache.size(), equalTo(1));
+    }
+
+    @Test
+    void userGetNotCached() {
+        client.searchAs(1L).block();
+        client.searchAs(1L).block();
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(responseCache.size(), equalTo(0));
+    }
+
+    private static String body(ResponseEntity<byte[]> response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static class TestClient extends ReactiveBaseClient {
+        TestClient(WebClient.Builder builder, ResponseCache responseCache, RouteGuard routeGuard) {
+            super("http://server/items", builder, responseCache, routeGuard);
+        }
+
+        Mono<ResponseEntity<byte[]>> search() {
+            return searchAs(null);
+        }
+
+        Mono<ResponseEntity<byte[]>> searchAs(Long userId) {
+            return get("/search?text={text}", userId, Map.of("text", "дрель"));
+        }
+
+        Mono<ResponseEntity<byte[]>> add() {
+            return post("", 1L, Map.of("name", "item"));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/** /actuator/responsecache отвечает только на порту management.server.port **/
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+class ResponseCacheEndpointTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void purgeNotExposedOnPublicPort() throws Exception {
+        assertThat(delete(port), equalTo(404));
+        assertThat(get(port), equalTo(404));
+    }
+
+    @Test
+    void purgeAvailableOnManagementPort() throws Exception {
+        assertThat(delete(managementPort), equalTo(200));
+        assertThat(get(managementPort), equalTo(200));
+    }
+
+    private int delete(int port) throws Exception {
+        return client.send(HttpRequest.newBuilder(endpoint(port)).DELETE().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int get(int port) throws Exception {
+        return client.send(HttpRequest.newBuilder(endpoint(port)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static URI endpoint(int port) {
+        return URI.create("http://localhost:" + port + "/actuator/responsecache");
+    }
+}
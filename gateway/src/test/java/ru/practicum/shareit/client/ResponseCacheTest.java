@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private static final URI SEARCH = URI.create("http://server/items/search?text=drill&from=0&size=10");
+    private static final URI USERS = URI.create("http://server/users");
+
+    private MutableClock clock;
+    private MeterRegistry registry;
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntries(2);
+        properties.setRoutes(Map.of("/items/search", Duration.ofSeconds(30), "/users", Duration.ofSeconds(5)));
+        clock = new MutableClock(Instant.parse("2022-10-01T10:00:00Z"));
+        registry = new SimpleMeterRegistry();
+        cache = new ResponseCache(properties, registry, clock);
+    }
+
+    @Test
+    void cacheableOnlyConfiguredRoutes() {
+        assertTrue(cache.cacheable(SEARCH));
+        assertFalse(cache.cacheable(URI.create("http://server/items/1")));
+    }
+
+    @Test
+    void getStoredBytesUntilRouteTtl() {
+        cache.put(SEARCH, body("[1]"), cache.version());
+        cache.put(USERS, body("[2]"), cache.version());
+
+        clock.instant = clock.instant.plusSeconds(10);
+
+        assertThat(new String(cache.get(SEARCH).getBody(), StandardCharsets.UTF_8), equalTo("[1]"));
+        assertNull(cache.get(USERS));
+    }
+
+    @Test
+    void errorsNotCached() {
+        cache.put(SEARCH, ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new byte[0]), cache.version());
+
+        assertNull(cache.get(SEARCH));
+    }
+
+    @Test
+    void putAfterWriteIgnored() {
+        long version = cache.version();
+        cache.evict("/items");
+
+        cache.put(SEARCH, body("[1]"), version);
+
+        assertNull(cache.get(SEARCH));
+    }
+
+    @Test
+    void evictByPrefix() {
+        cache.put(SEARCH, body("[1]"), cache.version());
+        cache.put(USERS, body("[2]"), cache.version());
+
+        assertThat(cache.evict("/items"), equalTo(1));
+        assertNull(cache.get(SEARCH));
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    @Test
+    void leastRecentlyUsedEvicted() {
+        URI other = URI.create("http://server/items/search?text=saw&from=0&size=10");
+        cache.put(SEARCH, body("[1]"), cache.version());
+        cache.put(USERS, body("[2]"), cache.version());
+        cache.get(SEARCH);
+
+        cache.put(other, body("[3]"), cache.version());
+
+        assertNull(cache.get(USERS));
+        assertThat(cache.size(), equalTo(2));
+    }
+
+    @Test
+    void hitRatio() {
+        cache.get(SEARCH);
+        cache.put(SEARCH, body("[1]"), cache.version());
+        cache.get(SEARCH);
+        cache.get(SEARCH);
+        cache.get(SEARCH);
+
+        assertThat(registry.get("gateway.response-cache.hit.ratio").gauge().value(), equalTo(0.75));
+        assertThat(registry.get("gateway.response-cache.requests")
+                .tag("route", "/items/search")
+                .tag("result", "miss")
+                .counter().count(), equalTo(1.0));
+    }
+
+    private static ResponseEntity<byte[]> body(String json) {
+        return ResponseEntity.ok(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
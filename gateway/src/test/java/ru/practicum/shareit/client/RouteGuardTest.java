@@ -0,0 +1,151 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.NullObjectException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RouteGuardTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private CircuitBreakerRegistry circuitBreakers;
+    private RouteGuard routeGuard;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMillis(100))
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .ignoreExceptions(NullObjectException.class, BulkheadFullException.class)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        routeGuard = new RouteGuard(circuitBreakers, bulkheads);
+    }
+
+    @Test
+    void serverErrorsOpenCircuit() {
+        for (int i = 0; i < 4; i++) {
+            ResponseEntity<byte[]> response = routeGuard.call("items", () -> respond(HttpStatus.BAD_GATEWAY));
+            assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_GATEWAY));
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> routeGuard.call("items", () -> respond(HttpStatus.OK)));
+        assertThat(calls.get(), equalTo(4));
+        assertThat(circuitBreakers.circuitBreaker("items").getState(), equalTo(CircuitBreaker.State.OPEN));
+        assertThat(routeGuard.call("users", () -> respond(HttpStatus.OK)).getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    @Test
+    void halfOpenProbeClosesCircuit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            routeGuard.call("items", () -> respond(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+
+        Thread.sleep(150);
+        routeGuard.call("items", () -> respond(HttpStatus.OK));
+
+        assertThat(circuitBreakers.circuitBreaker("items").getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void clientErrorsIgnored() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(NullObjectException.class, () -> routeGuard.call("items", () -> {
+                throw new NullObjectException("Not Found");
+            }));
+        }
+
+        assertThat(circuitBreakers.circuitBreaker("items").getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void bulkheadFullFailsFast() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> routeGuard.call("bookings", () -> {
+                started.countDown();
+                await(release);
+                return respond(HttpStatus.OK);
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS), equalTo(true));
+
+            assertThrows(ServiceUnavailableException.class,
+                    () -> routeGuard.call("bookings", () -> respond(HttpStatus.OK)));
+            assertThat(routeGuard.call("items", () -> respond(HttpStatus.OK)).getStatusCode(), equalTo(HttpStatus.OK));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertThat(circuitBreakers.circuitBreaker("bookings").getMetrics().getNumberOfFailedCalls(), equalTo(0));
+    }
+
+    @Test
+    void reactiveServerErrorsOpenCircuit() {
+        for (int i = 0; i < 4; i++) {
+            ResponseEntity<byte[]> response = routeGuard.call("items",
+                    Mono.fromSupplier(() -> respond(HttpStatus.BAD_GATEWAY))).block();
+            assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_GATEWAY));
+        }
+
+        Mono<ResponseEntity<byte[]>> rejected = routeGuard.call("items", Mono.fromSupplier(() -> respond(HttpStatus.OK)));
+        assertThrows(ServiceUnavailableException.class, rejected::block);
+        assertThat(calls.get(), equalTo(4));
+        assertThat(circuitBreakers.circuitBreaker("items").getState(), equalTo(CircuitBreaker.State.OPEN));
+    }
+
+    /** Запрос в пути держит bulkhead раздела, отмена его освобождает и не считается ошибкой **/
+    @Test
+    void reactiveBulkheadFullFailsFast() {
+        Disposable inFlight = routeGuard.call("bookings", Mono.<ResponseEntity<byte[]>>never()).subscribe();
+
+        Mono<ResponseEntity<byte[]>> rejected = routeGuard.call("bookings", Mono.fromSupplier(() -> respond(HttpStatus.OK)));
+        assertThrows(ServiceUnavailableException.class, rejected::block);
+        inFlight.dispose();
+
+        assertThat(routeGuard.call("bookings", Mono.fromSupplier(() -> respond(HttpStatus.OK))).block().getStatusCode(),
+                equalTo(HttpStatus.OK));
+        assertThat(circuitBreakers.circuitBreaker("bookings").getMetrics().getNumberOfFailedCalls(), equalTo(0));
+        assertThat(circuitBreakers.circuitBreaker("bookings").getMetrics().getNumberOfSuccessfulCalls(), equalTo(1));
+    }
+
+    private ResponseEntity<byte[]> respond(HttpStatus status) {
+        calls.incrementAndGet();
+        return ResponseEntity.status(status).body(new byte[0]);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.NullObjectException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+    private static final int FOLLOWERS = 4;
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MeterRegistry registry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareLeaderResponse() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true, registry);
+
+        List<Future<ResponseEntity<byte[]>>> responses = startConcurrent(singleFlight, "/items/1|1",
+                () -> ResponseEntity.ok("{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        release.countDown();
+
+        for (Future<ResponseEntity<byte[]>> response : responses) {
+            assertThat(JsonMetadata.field(response.get().getBody(), "id"), equalTo("1"));
+        }
+        assertThat(calls.get(), equalTo(1));
+        assertThat(count("follower"), equalTo((double) FOLLOWERS));
+        assertThat(registry.get("gateway.single-flight.ratio").gauge().value(),
+                equalTo(FOLLOWERS / (FOLLOWERS + 1.0)));
+    }
+
+    @Test
+    void leaderErrorPropagatedToFollowers() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true, registry);
+
+        List<Future<ResponseEntity<byte[]>>> responses = startConcurrent(singleFlight, "/items/1|1", () -> {
+            throw new NullObjectException("Not Found");
+        });
+        release.countDown();
+
+        for (Future<ResponseEntity<byte[]>> response : responses) {
+            ExecutionException e = assertThrows(ExecutionException.class, response::get);
+            assertThat(e.getCause(), instanceOf(NullObjectException.class));
+        }
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void nextCallAfterResponseGoesToServer() {
+        SingleFlight singleFlight = new SingleFlight(true, registry);
+        release.countDown();
+
+        singleFlight.execute("/items/1|1", this::call);
+        singleFlight.execute("/items/1|1", this::call);
+        singleFlight.execute("/items/1|2", this::call);
+
+        assertThat(calls.get(), equalTo(3));
+        assertThat(count("leader"), equalTo(3.0));
+    }
+
+    @Test
+    void disabled() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(false, registry);
+        release.countDown();
+
+        for (Future<ResponseEntity<byte[]>> response : startConcurrent(singleFlight, "/items/1|1",
+                () -> ResponseEntity.ok(new byte[0]))) {
+            response.get();
+        }
+
+        assertThat(calls.get(), equalTo(FOLLOWERS + 1));
+        assertThat(count("follower"), equalTo(0.0));
+    }
+
+    /** Ведущий ждёт release, остальные запускаются, пока он на "сервере" **/
+    private List<Future<ResponseEntity<byte[]>>> startConcurrent(SingleFlight singleFlight, String key,
+                                                                 Supplier<ResponseEntity<byte[]>> response)
+            throws InterruptedException {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        List<Future<ResponseEntity<byte[]>>> responses = new ArrayList<>();
+        responses.add(executor.submit(() -> singleFlight.execute(key, () -> {
+            leaderStarted.countDown();
+            await(release);
+            calls.incrementAndGet();
+            return response.get();
+        })));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS), equalTo(true));
+        for (int i = 0; i < FOLLOWERS; i++) {
+            responses.add(executor.submit(() -> singleFlight.execute(key, () -> {
+                calls.incrementAndGet();
+                return response.get();
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("follower") + calls.get() < FOLLOWERS && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return responses;
+    }
+
+    private ResponseEntity<byte[]> call() {
+        calls.incrementAndGet();
+        return ResponseEntity.ok(new byte[0]);
+    }
+
+    private double count(String role) {
+        return registry.get("gateway.single-flight.requests").tag("role", role).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
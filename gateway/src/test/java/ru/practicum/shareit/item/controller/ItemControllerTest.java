@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Ignore;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,9 +9,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
 import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -26,6 +29,7 @@ import java.util.Map;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -84,7 +88,7 @@ class ItemControllerTest {
         itemDto.put("comments", List.of(comment));
         itemDto.put("lastBooking", booking);
         when(itemClient.addItem(anyLong(), any(ItemDto.class)))
-                .thenReturn(itemDto);
+                .thenReturn(json(itemDto));
 
         mvc.perform(post("/items")
                         .content(mapper.writeValueAsString(itemDto))
@@ -99,6 +103,18 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.description", is(itemDto.get("description"))));
     }
 
+    @Test
+    void getByItemIdServerUnavailable() throws Exception {
+        when(itemClient.getByItemId(anyLong(), anyLong()))
+                .thenThrow(new ServiceUnavailableException("Circuit breaker 'items' is open"));
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.reasons", is("Circuit breaker 'items' is open")));
+    }
+
     @Test
     void addItemNotUser() throws Exception {
         when(itemClient.addItem(anyLong(), any()));
@@ -115,7 +131,7 @@ class ItemControllerTest {
     @Test
     void updateItem() throws Exception {
         when(itemClient.updateItem(anyLong(), any()))
-                .thenReturn(itemDto);
+                .thenReturn(json(itemDto));
 
         mvc.perform(patch("/items/1")
                         .content(mapper.writeValueAsString(itemDto))
@@ -133,7 +149,7 @@ class ItemControllerTest {
     @Test
     void getByItemId() throws Exception {
         when(itemClient.getByItemId(anyLong(), any()))
-                .thenReturn(itemDto);
+                .thenReturn(json(itemDto));
 
         mvc.perform(get("/items/1")
                         .content(mapper.writeValueAsString(itemDto))
@@ -151,7 +167,7 @@ class ItemControllerTest {
     @Ignore
     void getUserItemAll() throws Exception {
         when(itemClient.getByUserIdItemAll(any()))
-                .thenReturn(List.of(itemDto));
+                .thenReturn(json(List.of(itemDto)));
 
         mvc.perform(get("/items"))
                 .andExpect(status().isOk())
@@ -164,8 +180,9 @@ class ItemControllerTest {
 
     @Test
     void getItemSearch() throws Exception {
-        when(itemClient.getItemSearch(any()))
-                .thenReturn(List.of(itemDto));
+        // без size - все найденные вещи
+        when(itemClient.getItemSearch("script", 0, null))
+                .thenReturn(json(List.of(itemDto)));
 
         mvc.perform(get("/items/search?text=script")
                         .content(mapper.writeValueAsString(itemDto))
@@ -181,11 +198,36 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].description", is(itemDto.get("description"))));
     }
 
+    @Test
+    void getItemSearchPage() throws Exception {
+        when(itemClient.getItemSearch("script", 2, 5))
+                .thenReturn(json(List.of(itemDto)));
+
+        mvc.perform(get("/items/search?text=script&from=2&size=5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getItemSearchInvalidPage() throws Exception {
+        mvc.perform(get("/items/search?text=script&from=-1&size=5")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/items/search?text=script&from=0&size=0")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
     @Test
     void addComment() throws Exception {
         Map<String, Object> commentDto = Map.of("text", "comment");
         when(itemClient.addComment(anyLong(), anyLong(), any(CommentDto.class)))
-                .thenReturn(commentDto);
+                .thenReturn(json(commentDto));
 
         mvc.perform(post("/items/1/comment")
                         .content(mapper.writeValueAsString(commentDto))
@@ -196,4 +238,10 @@ class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.text", is(commentDto.get("text"))));
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<byte[]> json(Object body) throws JsonProcessingException {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(mapper.writeValueAsBytes(body));
+    }
+}
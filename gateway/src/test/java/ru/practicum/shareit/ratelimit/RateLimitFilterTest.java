@@ -0,0 +1,52 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class RateLimitFilterTest {
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(1);
+        limit.setPerSecond(0.5);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(Map.of("/bookings/owner/**", limit));
+        filter = new RateLimitFilter(new RateLimiter(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void tooManyRequests() throws Exception {
+        MockFilterChain allowedChain = new MockFilterChain();
+        filter.doFilter(request(), new MockHttpServletResponse(), allowedChain);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+        filter.doFilter(request(), response, rejectedChain);
+
+        assertThat(allowedChain.getRequest(), notNullValue());
+        assertThat(rejectedChain.getRequest(), nullValue());
+        assertThat(response.getStatus(), equalTo(429));
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER), equalTo("2"));
+        assertThat(response.getContentAsString(), equalTo("{\"error\":\"Too many requests\"}"));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/owner");
+        request.addHeader("X-Sharer-User-Id", "1");
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class RateLimiterTest {
+    private long now;
+    private MeterRegistry registry;
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, RateLimitProperties.Limit> routes = new LinkedHashMap<>();
+        routes.put("/**", limit(100, 50));
+        routes.put("/bookings/owner/**", limit(2, 1));
+        properties = new RateLimitProperties();
+        properties.setRoutes(routes);
+        properties.setMaxBuckets(10);
+        properties.setIdleTimeout(Duration.ofMinutes(10));
+        registry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(properties, registry, () -> now);
+    }
+
+    @Test
+    void capacityThenRefill() {
+        assertThat(rateLimiter.tryAcquire("/bookings/owner", "1"), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("/bookings/owner", "1"), equalTo(0L));
+
+        long wait = rateLimiter.tryAcquire("/bookings/owner", "1");
+
+        assertThat(wait, greaterThan(0L));
+        assertThat(wait, lessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1)));
+        now += wait;
+        assertThat(rateLimiter.tryAcquire("/bookings/owner", "1"), equalTo(0L));
+    }
+
+    @Test
+    void bucketPerUserAndRoute() {
+        rateLimiter.tryAcquire("/bookings/owner", "1");
+        rateLimiter.tryAcquire("/bookings/owner", "1");
+
+        assertThat(rateLimiter.tryAcquire("/bookings/owner", "2"), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("/bookings/owner/summary", "1"), greaterThan(0L));
+        assertThat(rateLimiter.tryAcquire("/bookings", "1"), equalTo(0L));
+        assertThat(registry.get("gateway.rate-limit.requests")
+                .tag("route", "/bookings/owner/**")
+                .tag("result", "rejected")
+                .counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    void withoutUserNotLimited() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("/bookings/owner", null), equalTo(0L));
+        }
+    }
+
+    @Test
+    void disabled() {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("/bookings/owner", "1"), equalTo(0L));
+        }
+    }
+
+    @Test
+    void bucketsBounded() {
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.tryAcquire("/items", String.valueOf(i));
+        }
+
+        assertThat(rateLimiter.size(), lessThanOrEqualTo(10L));
+    }
+
+    @Test
+    void retryAfterRoundedUpToSeconds() {
+        assertThat(RateLimitFilter.retryAfter(1), equalTo("1"));
+        assertThat(RateLimitFilter.retryAfter(TimeUnit.MILLISECONDS.toNanos(1500)), equalTo("2"));
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, double perSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPerSecond(perSecond);
+        return limit;
+    }
+}
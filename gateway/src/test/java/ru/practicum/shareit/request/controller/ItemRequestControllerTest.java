@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import ru.practicum.shareit.exception.NullObjectException;
@@ -128,7 +130,7 @@ class ItemRequestControllerTest {
         itemRequestDto.put("id", null);
         itemRequestDto.put("created", null);
         when(itemRequestClient.addItemRequest(any(), any(ItemRequestDto.class)))
-                .thenReturn(itemRequestDto);
+                .thenReturn(json(itemRequestDto));
 
         mvc.perform(post("/requests")
                         .content(mapper.writeValueAsString(itemRequestDto))
@@ -182,7 +184,7 @@ class ItemRequestControllerTest {
 
         List<Map> itemRequestsDto = List.of(itemRequestDto);
         when(itemRequestClient.getAllRequestsByUser(anyLong()))
-                .thenReturn(itemRequestsDto);
+                .thenReturn(json(itemRequestsDto));
 
         mvc.perform(get("/requests")
                         .content(mapper.writeValueAsString(itemRequestDto))
@@ -235,7 +237,7 @@ class ItemRequestControllerTest {
         List<Map> itemRequestsDto = List.of(itemRequestDto);
 
         when(itemRequestClient.getAllRequests(anyLong(), anyInt(), anyInt()))
-                .thenReturn(itemRequestsDto);
+                .thenReturn(json(itemRequestsDto));
 
         mvc.perform(get("/requests/all")
                         .content(mapper.writeValueAsString(itemRequestDto))
@@ -285,7 +287,7 @@ class ItemRequestControllerTest {
     void getRequest() throws Exception {
         itemRequestDto.put("id", 1L);
         when(itemRequestClient.getRequest(anyLong(), anyLong()))
-                .thenReturn(itemRequestDto);
+                .thenReturn(json(itemRequestDto));
 
         mvc.perform(get("/requests/1")
                         .content(mapper.writeValueAsString(itemRequestDto))
@@ -298,4 +300,10 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.id", is(itemRequestDto.get("id")), Long.class))
                 .andExpect(jsonPath("$.description", is(itemRequestDto.get("description"))));
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<byte[]> json(Object body) throws JsonProcessingException {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(mapper.writeValueAsBytes(body));
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.UserController;
@@ -50,7 +52,7 @@ class UserControllerTest {
     @Test
     void newUser() throws Exception {
         when(userClient.newUser(any()))
-                .thenReturn(userDto);
+                .thenReturn(json(userDto));
 
         mvc.perform(post("/users")
                         .content(mapper.writeValueAsString(userDto))
@@ -67,7 +69,7 @@ class UserControllerTest {
     void newUserEmailNull() throws Exception {
         userDto.put("email", null);
         when(userClient.newUser(any()))
-                .thenReturn(userDto);
+                .thenReturn(json(userDto));
 
         mvc.perform(post("/users")
                         .content(mapper.writeValueAsString(userDto))
@@ -83,7 +85,7 @@ class UserControllerTest {
     void newUserEmailInvalid() throws Exception {
         userDto.put("email", null);
         when(userClient.newUser(any()))
-                .thenReturn(userDto);
+                .thenReturn(json(userDto));
 
         mvc.perform(post("/users")
                         .content(mapper.writeValueAsString(userDto))
@@ -97,7 +99,7 @@ class UserControllerTest {
     void newUserNameBlank() throws Exception {
         userDto.put("name", "");
         when(userClient.newUser(any()))
-                .thenReturn(userDto);
+                .thenReturn(json(userDto));
 
         mvc.perform(post("/users")
                         .content(mapper.writeValueAsString(userDto))
@@ -110,7 +112,7 @@ class UserControllerTest {
     @Test
     void updateUser() throws Exception {
         when(userClient.updateUser(anyLong(), any(UserUpdateDto.class)))
-                .thenReturn(userDto);
+                .thenReturn(json(userDto));
 
         mvc.perform(patch("/users/1")
                         .content(mapper.writeValueAsString(userDto))
@@ -126,7 +128,7 @@ class UserControllerTest {
     @Test
     void getByUserId() throws Exception {
         when(userClient.getByUserId(anyLong()))
-                .thenReturn(userDto);
+                .thenReturn(json(userDto));
 
         mvc.perform(get("/users/1"))
                 .andExpect(status().isOk())
@@ -138,7 +140,7 @@ class UserControllerTest {
     @Test
     void getUsersAll() throws Exception {
         when(userClient.getUserAll())
-                .thenReturn(List.of(userDto));
+                .thenReturn(json(List.of(userDto)));
 
         mvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -150,8 +152,16 @@ class UserControllerTest {
 
     @Test
     void deleteUser() throws Exception {
+        when(userClient.deleteUser(1L))
+                .thenReturn(ResponseEntity.ok().build());
+
         mvc.perform(delete("/users/1"))
                 .andExpect(status().isOk());
     }
 
-}
\ No newline at end of file
+    private ResponseEntity<byte[]> json(Object body) throws JsonProcessingException {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(mapper.writeValueAsBytes(body));
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.user.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.user.UserReactiveClient;
+import ru.practicum.shareit.user.UserReactiveController;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = UserReactiveController.class)
+class UserReactiveControllerTest {
+    @MockBean
+    private UserReactiveClient userClient;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private WebTestClient client;
+
+    private Map<String, Object> userDto;
+
+    @BeforeEach
+    void setUp() {
+        userDto = new HashMap<>();
+        userDto.put("id", 1L);
+        userDto.put("email", "user1@email.com");
+        userDto.put("name", "user1");
+    }
+
+    @Test
+    void newUser() throws Exception {
+        when(userClient.newUser(any()))
+                .thenReturn(json(userDto));
+
+        client.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(userDto))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.email").isEqualTo("user1@email.com");
+    }
+
+    @Test
+    void newUserEmailNull() throws Exception {
+        userDto.put("email", null);
+
+        client.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(userDto))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void newUserNameBlank() throws Exception {
+        userDto.put("name", "");
+
+        client.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(userDto))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void updateUserEmailConflict() throws Exception {
+        when(userClient.updateUser(anyLong(), any(UserUpdateDto.class)))
+                .thenReturn(Mono.error(new ConflictException("ConflictException")));
+
+        client.patch().uri("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(userDto))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void getUserAll() throws Exception {
+        when(userClient.getUserAll())
+                .thenReturn(json(List.of(userDto)));
+
+        client.get().uri("/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void deleteUser() {
+        when(userClient.deleteUser(1L))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        client.delete().uri("/users/1")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private Mono<ResponseEntity<byte[]>> json(Object body) throws JsonProcessingException {
+        return Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(mapper.writeValueAsBytes(body)));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Кэши users и items (Caffeine, spring.cache.cache-names и spring.cache.caffeine.spec).
+ * Сущности кладутся в кэш копией и выдаются копией: вызывающий может менять полученный объект,
+ * не затрагивая кэш и других вызывающих. Метрики cache.* остаются, так как кэш - по-прежнему CaffeineCache.
+ **/
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new SnapshotCache(name, cache, isAllowNullValues());
+            }
+        };
+        String spec = properties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        if (!properties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(properties.getCacheNames());
+        }
+        return cacheManager;
+    }
+
+    /** CaffeineCache, хранящий и выдающий копии сущностей **/
+    static class SnapshotCache extends CaffeineCache {
+        SnapshotCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object toStoreValue(@Nullable Object userValue) {
+            return super.toStoreValue(copy(userValue));
+        }
+
+        @Override
+        protected Object fromStoreValue(@Nullable Object storeValue) {
+            return copy(super.fromStoreValue(storeValue));
+        }
+
+        private static Object copy(@Nullable Object value) {
+            if (value instanceof User) {
+                return UserMapper.copy((User) value);
+            }
+            if (value instanceof Item) {
+                return ItemMapper.copy((Item) value);
+            }
+            return value;
+        }
+    }
+}
@@ -4,8 +4,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInsertDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -28,6 +32,18 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.addBooking(userId, bookingInsertDto));
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestBody List<BookingInsertDto> bookingInsertDtos) {
+        return bookingService.addBookings(userId, bookingInsertDtos);
+    }
+
+    @PatchMapping("/status")
+    public List<BookingBatchResultDto> statusBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestBody BookingStatusUpdateDto statusUpdateDto) {
+        return bookingService.statusBookings(userId, statusUpdateDto);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<BookingDto> statusBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                     @PathVariable Long bookingId,
@@ -35,6 +51,16 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.statusBooking(userId, bookingId, approved));
     }
 
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getOwnerSummary(userId);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getBookerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getBookerSummary(userId);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<BookingDto> getByBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                    @PathVariable Long bookingId) {
@@ -57,4 +83,20 @@ public class BookingController {
                                                  @RequestParam Integer size) {
         return bookingService.getAllBookingsByUser(userId, state, from, size);
     }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public BookingSliceDto getAllByUserOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                             @RequestParam StatusBooking state,
+                                             @RequestParam String cursor,
+                                             @RequestParam Integer size) {
+        return bookingService.getAllByUserOwner(userId, state, cursor, size);
+    }
+
+    @GetMapping(params = "cursor")
+    public BookingSliceDto getAllBookingsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @RequestParam StatusBooking state,
+                                                @RequestParam String cursor,
+                                                @RequestParam Integer size) {
+        return bookingService.getAllBookingsByUser(userId, state, cursor, size);
+    }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingBatchResultDto {
+    private Integer index;      // позиция в пакете
+    private BookingDto booking; // созданное бронирование, null - ошибка
+    private String error;       // причина отказа
+
+    public static BookingBatchResultDto success(int index, BookingDto booking) {
+        return new BookingBatchResultDto(index, booking, null);
+    }
+
+    public static BookingBatchResultDto failure(int index, String error) {
+        return new BookingBatchResultDto(index, null, error);
+    }
+}
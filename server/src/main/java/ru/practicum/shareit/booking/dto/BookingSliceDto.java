@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingSliceDto {
+    private List<BookingDto> content = new ArrayList<>();
+    private String nextCursor; // null - следующей страницы нет
+}
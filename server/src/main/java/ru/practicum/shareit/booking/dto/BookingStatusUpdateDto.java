@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingStatusUpdateDto {
+    private List<Long> bookingIds = new ArrayList<>();
+    private Boolean approved; // true - подтвердить, false - отклонить
+}
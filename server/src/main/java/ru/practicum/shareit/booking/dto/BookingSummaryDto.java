@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.StatusBooking;
+
+import java.util.Map;
+
+/** Количество бронирований по состояниям **/
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingSummaryDto {
+    private long all;
+    private long current;
+    private long past;
+    private long future;
+    private long waiting;
+    private long rejected;
+
+    public static BookingSummaryDto of(Map<StatusBooking, Long> counts) {
+        return new BookingSummaryDto(
+                counts.getOrDefault(StatusBooking.ALL, 0L),
+                counts.getOrDefault(StatusBooking.CURRENT, 0L),
+                counts.getOrDefault(StatusBooking.PAST, 0L),
+                counts.getOrDefault(StatusBooking.FUTURE, 0L),
+                counts.getOrDefault(StatusBooking.WAITING, 0L),
+                counts.getOrDefault(StatusBooking.REJECTED, 0L)
+        );
+    }
+}
@@ -26,11 +26,11 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime endDate;
 
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "item_id")
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "booker_id")
     private User booker;
 
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Период подтверждённой аренды [start, end) **/
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingInterval {
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
@@ -3,16 +3,20 @@ package ru.practicum.shareit.booking.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.StatusBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
     /** Все арендованные вещи пользователя(владельца) **/
     Page<Booking> findAllByBooker_Id(Pageable pageable, Long userId);
 
@@ -98,28 +102,64 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Page<Booking> getBookingRejected(Pageable pageable,
                                      @Param("userId") Long userId);
 
-    /** Список вещей подтвенрённых владельцем **/
-    @Query("from Booking b " +
+    /** Периоды подтверждённых аренд вещи **/
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.id, b.startDate, b.endDate) " +
+            "from Booking b " +
             "where b.item.id = :itemId " +
-            "and (b.status = 'APPROVED' " +
-            "and (b.endDate > :end " +
-            "and b.startDate > :start)" +
-            ")")
-    List<Booking> getBookingByDate(@Param("itemId") Long itemId,
-                                   @Param("start") LocalDateTime start,
-                                   @Param("end") LocalDateTime end);
+            "and b.status = 'APPROVED'")
+    List<BookingInterval> getApprovedIntervals(@Param("itemId") Long itemId);
 
-    @Query("from Booking as b " +
-            "where b.item.id = :itemId " +
+    /** Последние начавшиеся подтверждённые бронирования для списка вещей - по одному на вещь **/
+    @Query("from Booking b " +
+            "join fetch b.item " +
+            "join fetch b.booker " +
+            "where b.item.id in :itemIds " +
             "and b.status = 'APPROVED' " +
-            "and b.startDate < :dateTime " +
-            "order by b.startDate desc ")
-    List<Booking> getLastBooking(@Param("itemId") Long itemId,
-                                 @Param("dateTime") LocalDateTime dateTime);
-
-    @Query("from Booking as b " +
-            "where b.endDate = (select max(b.endDate) from Booking as b)" +
-            "and b.item.id = :itemId " +
-            "and b.status = 'APPROVED'")
-    Optional<Booking> getNextBooking(@Param("itemId") Long itemId);
+            "and b.startDate = (select max(l.startDate) from Booking l " +
+            "where l.item.id = b.item.id " +
+            "and l.status = 'APPROVED' " +
+            "and l.startDate < :dateTime)")
+    List<Booking> getLastBookings(@Param("itemIds") Collection<Long> itemIds,
+                                  @Param("dateTime") LocalDateTime dateTime);
+
+    /** Ближайшие будущие подтверждённые бронирования для списка вещей - по одному на вещь **/
+    @Query("from Booking b " +
+            "join fetch b.item " +
+            "join fetch b.booker " +
+            "where b.item.id in :itemIds " +
+            "and b.status = 'APPROVED' " +
+            "and b.startDate = (select min(n.startDate) from Booking n " +
+            "where n.item.id = b.item.id " +
+            "and n.status = 'APPROVED' " +
+            "and n.startDate > :dateTime)")
+    List<Booking> getNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                  @Param("dateTime") LocalDateTime dateTime);
+
+    /** Вещь бронирования - без загрузки самого бронирования **/
+    @Query("select b.item.id from Booking b " +
+            "where b.id = :bookingId")
+    Optional<Long> getItemIdByBookingId(@Param("bookingId") Long bookingId);
+
+    /** Вещи владельца, к которым относятся бронирования из списка **/
+    @Query("select distinct b.item.id from Booking b " +
+            "where b.id in :bookingIds " +
+            "and b.item.ownerId = :ownerId")
+    List<Long> getOwnerItemIds(@Param("bookingIds") Collection<Long> bookingIds,
+                               @Param("ownerId") Long ownerId);
+
+    /** Бронирования по списку id вместе с вещами и арендаторами **/
+    @Query("from Booking b " +
+            "join fetch b.item " +
+            "join fetch b.booker " +
+            "where b.id in :bookingIds")
+    List<Booking> getBookingsByIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /** Смена статуса списка бронирований одним запросом **/
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = :status " +
+            "where b.id in :bookingIds")
+    int updateStatus(@Param("bookingIds") Collection<Long> bookingIds,
+                     @Param("status") StatusBooking status);
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface BookingRepositoryCustom {
+    /**
+     * Страница бронирований владельца вещей по ключу (start_date, id) без запроса количества.
+     * При afterStart = null возвращается первая страница.
+     **/
+    Slice<Booking> getOwnerBookingSlice(Long ownerId, StatusBooking state, LocalDateTime dateTime,
+                                        LocalDateTime afterStart, Long afterId, int size);
+
+    /**
+     * Страница бронирований пользователя по ключу (start_date, id) без запроса количества.
+     * При afterStart = null возвращается первая страница.
+     **/
+    Slice<Booking> getBookerBookingSlice(Long bookerId, StatusBooking state, LocalDateTime dateTime,
+                                         LocalDateTime afterStart, Long afterId, int size);
+
+    /** Количество бронирований владельца вещей по каждому состоянию (ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED) **/
+    Map<StatusBooking, Long> countOwnerBookings(Long ownerId, LocalDateTime dateTime);
+
+    /** Количество бронирований пользователя по каждому состоянию (ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED) **/
+    Map<StatusBooking, Long> countBookerBookings(Long bookerId, LocalDateTime dateTime);
+
+    /** Пакетная вставка бронирований одним JDBC batch в одной транзакции, id записываются в переданные объекты **/
+    List<Booking> insertAll(List<Booking> bookings);
+}
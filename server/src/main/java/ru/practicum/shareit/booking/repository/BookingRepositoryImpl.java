@@ -0,0 +1,208 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.NullObjectException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+    /** Состояния, по которым считается сводка бронирований **/
+    private static final List<StatusBooking> SUMMARY_STATES = List.of(StatusBooking.ALL, StatusBooking.CURRENT,
+            StatusBooking.PAST, StatusBooking.FUTURE, StatusBooking.WAITING, StatusBooking.REJECTED);
+
+    private static final String INSERT = "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingRepositoryImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public Slice<Booking> getOwnerBookingSlice(Long ownerId, StatusBooking state, LocalDateTime dateTime,
+                                               LocalDateTime afterStart, Long afterId, int size) {
+        return getSlice(Party.OWNER, state, ownerId, dateTime, afterStart, afterId, size);
+    }
+
+    @Override
+    public Slice<Booking> getBookerBookingSlice(Long bookerId, StatusBooking state, LocalDateTime dateTime,
+                                                LocalDateTime afterStart, Long afterId, int size) {
+        return getSlice(Party.BOOKER, state, bookerId, dateTime, afterStart, afterId, size);
+    }
+
+    @Override
+    public Map<StatusBooking, Long> countOwnerBookings(Long ownerId, LocalDateTime dateTime) {
+        return countByState(Party.OWNER, ownerId, dateTime);
+    }
+
+    @Override
+    public Map<StatusBooking, Long> countBookerBookings(Long bookerId, LocalDateTime dateTime) {
+        return countByState(Party.BOOKER, bookerId, dateTime);
+    }
+
+    @Override
+    public List<Booking> insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        for (Booking booking : bookings) {
+            checkInsert(booking);
+        }
+        // пакет записывается целиком или не записывается совсем
+        return transactionTemplate.execute(tx -> jdbcTemplate.execute((ConnectionCallback<List<Booking>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"})) {
+                for (Booking booking : bookings) {
+                    statement.setObject(1, booking.getStartDate());
+                    statement.setObject(2, booking.getEndDate());
+                    statement.setLong(3, booking.getItem().getId());
+                    statement.setLong(4, booking.getBooker().getId());
+                    statement.setString(5, booking.getStatus().name());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Booking booking : bookings) {
+                        if (!keys.next()) {
+                            throw new SQLException("Generated key is missing for booking " + booking);
+                        }
+                        booking.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return bookings;
+        }));
+    }
+
+    /** Запись пакета проверяется до обращения к БД **/
+    private static void checkInsert(Booking booking) {
+        if (booking == null) {
+            throw new IllegalArgumentException("Booking batch must not contain null");
+        }
+        if (booking.getItem() == null || booking.getItem().getId() == null
+                || booking.getBooker() == null || booking.getBooker().getId() == null
+                || booking.getStatus() == null) {
+            throw new IllegalArgumentException("Booking item, booker and status are required: " + booking);
+        }
+        if (booking.getStartDate() == null || booking.getEndDate() == null
+                || !booking.getEndDate().isAfter(booking.getStartDate())) {
+            throw new IllegalArgumentException("Invalid rental period: " + booking);
+        }
+    }
+
+    /**
+     * Сторона бронирования: условие на пользователя и отклонённые для неё статусы.
+     * Арендатору отклонёнными показываются и отменённые им самим бронирования.
+     **/
+    private enum Party {
+        OWNER("from Booking b join b.item i", "i.ownerId = :userId", "'REJECTED'"),
+        BOOKER("from Booking b", "b.booker.id = :userId", "'REJECTED', 'CANCELED'");
+
+        private final String from;
+        private final String user;
+        private final String rejected;
+
+        Party(String from, String user, String rejected) {
+            this.from = from;
+            this.user = user;
+            this.rejected = rejected;
+        }
+
+        /** Условие выборки бронирований стороны по состоянию, null - без условия **/
+        private String stateFilter(StatusBooking state) {
+            switch (state) {
+                case ALL: // все
+                    return null;
+                case CURRENT: // текущие
+                    return "b.startDate < :dateTime and b.endDate > :dateTime";
+                case PAST: // завершенные
+                    return "b.endDate < :dateTime";
+                case FUTURE: // будущие
+                    return "b.startDate > :dateTime";
+                case WAITING: // ожидающие подтверждения
+                    return "b.status = 'WAITING'";
+                case REJECTED: // отклонённые
+                    return "b.status in (" + rejected + ")";
+                default:
+                    throw new NullObjectException("Unknown state: " + state.name());
+            }
+        }
+    }
+
+    /** Количество бронирований по всем состояниям - один проход с условной агрегацией **/
+    private Map<StatusBooking, Long> countByState(Party party, Long userId, LocalDateTime dateTime) {
+        StringBuilder jpql = new StringBuilder("select ");
+        for (int i = 0; i < SUMMARY_STATES.size(); i++) {
+            String filter = party.stateFilter(SUMMARY_STATES.get(i));
+            jpql.append(i > 0 ? ", " : "")
+                    .append(filter == null ? "count(b)" : "sum(case when " + filter + " then 1 else 0 end)");
+        }
+        jpql.append(" ").append(party.from).append(" where ").append(party.user);
+
+        Object[] row = em.createQuery(jpql.toString(), Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("dateTime", dateTime)
+                .getSingleResult();
+
+        Map<StatusBooking, Long> counts = new EnumMap<>(StatusBooking.class);
+        for (int i = 0; i < SUMMARY_STATES.size(); i++) {
+            // sum по пустой выборке - null
+            counts.put(SUMMARY_STATES.get(i), row[i] == null ? 0L : ((Number) row[i]).longValue());
+        }
+        return counts;
+    }
+
+    private Slice<Booking> getSlice(Party party, StatusBooking state, Long userId, LocalDateTime dateTime,
+                                    LocalDateTime afterStart, Long afterId, int size) {
+        String filter = party.stateFilter(state);
+        String jpql = "select b from Booking b " +
+                "join fetch b.item i " +
+                "join fetch b.booker u " +
+                "where " + party.user + " " +
+                (filter != null ? "and " + filter + " " : "") +
+                (afterStart != null
+                        ? "and (b.startDate < :afterStart or (b.startDate = :afterStart and b.id < :afterId)) "
+                        : "") +
+                "order by b.startDate desc, b.id desc";
+
+        TypedQuery<Booking> query = em.createQuery(jpql, Booking.class)
+                .setParameter("userId", userId)
+                .setMaxResults(size + 1); // лишняя запись показывает, есть ли следующая страница
+
+        if (filter != null && filter.contains(":dateTime")) {
+            query.setParameter("dateTime", dateTime);
+        }
+
+        if (afterStart != null) {
+            query.setParameter("afterStart", afterStart);
+            query.setParameter("afterId", afterId);
+        }
+
+        List<Booking> bookings = query.getResultList();
+        boolean hasNext = bookings.size() > size;
+
+        return new SliceImpl<>(hasNext ? bookings.subList(0, size) : bookings, PageRequest.ofSize(size), hasNext);
+    }
+}
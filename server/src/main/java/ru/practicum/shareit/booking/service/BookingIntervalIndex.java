@@ -0,0 +1,161 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Индекс подтверждённых периодов аренды по вещам.
+ * Для каждой вещи хранится неизменяемый массив периодов, отсортированный по началу, и максимум
+ * окончаний на префиксе - проверка пересечения выполняется бинарным поиском без обращения к БД.
+ * Данные вещи загружаются из БД при первом обращении, обновляются при смене статуса и
+ * перечитываются не реже, чем раз в ttl (shareit.booking.interval-index.ttl) - смена статуса не продлевает срок.
+ * Индекс и блокировки ItemLockManager локальны для экземпляра сервера: подтверждения, сделанные другим
+ * экземпляром, видны только после истечения ttl, поэтому сервер рассчитан на один экземпляр. В PostgreSQL
+ * пересекающееся подтверждение всё равно отклонит ex_bookings_item_period - индекс для него только подсказка.
+ **/
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Map<Long, Intervals> items;
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.interval-index.ttl:60s}") Duration ttl) {
+        this(bookingRepository, ttl, Ticker.systemTicker());
+    }
+
+    BookingIntervalIndex(BookingRepository bookingRepository, Duration ttl, Ticker ticker) {
+        this.bookingRepository = bookingRepository;
+        this.items = Caffeine.newBuilder()
+                .expireAfter(new LoadedExpiry(ttl))
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .<Long, Intervals>build()
+                .asMap();
+    }
+
+    /** Пересекается ли период [start, end) с подтверждённой арендой вещи **/
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return items.computeIfAbsent(itemId, this::load).overlaps(start, end);
+    }
+
+    /** Добавить подтверждённую аренду (если вещь уже загружена) **/
+    public void add(Booking booking) {
+        items.computeIfPresent(booking.getItem().getId(), (itemId, intervals) -> intervals.with(
+                new BookingInterval(booking.getId(), booking.getStartDate(), booking.getEndDate())));
+    }
+
+    /** Убрать аренду, переставшую быть подтверждённой **/
+    public void remove(Booking booking) {
+        items.computeIfPresent(booking.getItem().getId(), (itemId, intervals) -> intervals.without(booking.getId()));
+    }
+
+    /** Сбросить загруженные данные вещи - при следующем обращении она будет прочитана из БД **/
+    public void evict(Long itemId) {
+        items.remove(itemId);
+    }
+
+    private Intervals load(Long itemId) {
+        List<BookingInterval> intervals = bookingRepository.getApprovedIntervals(itemId);
+        log.debug("booking interval index - load itemId:{} size:{}", itemId, intervals.size());
+        return Intervals.of(intervals);
+    }
+
+    /** Срок отсчитывается от загрузки из БД, add и remove его не продлевают **/
+    private static final class LoadedExpiry implements Expiry<Long, Intervals> {
+        private final long ttlNanos;
+
+        private LoadedExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long itemId, Intervals intervals, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, Intervals intervals, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, Intervals intervals, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static final class Intervals {
+        private final BookingInterval[] intervals; // по возрастанию начала
+        private final LocalDateTime[] maxEnds;     // maxEnds[i] - наибольшее окончание среди intervals[0..i]
+
+        private Intervals(BookingInterval[] intervals) {
+            this.intervals = intervals;
+            this.maxEnds = new LocalDateTime[intervals.length];
+            for (int i = 0; i < intervals.length; i++) {
+                LocalDateTime end = intervals[i].getEnd();
+                maxEnds[i] = i == 0 || end.isAfter(maxEnds[i - 1]) ? end : maxEnds[i - 1];
+            }
+        }
+
+        static Intervals of(List<BookingInterval> intervals) {
+            return new Intervals(intervals.stream()
+                    .sorted(Comparator.comparing(BookingInterval::getStart))
+                    .toArray(BookingInterval[]::new));
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            // последний период, начавшийся до окончания проверяемого
+            int low = 0;
+            int high = intervals.length - 1;
+            int last = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (intervals[mid].getStart().isBefore(end)) {
+                    last = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return last >= 0 && maxEnds[last].isAfter(start);
+        }
+
+        Intervals with(BookingInterval interval) {
+            List<BookingInterval> result = new ArrayList<>(intervals.length + 1);
+            for (BookingInterval current : intervals) {
+                if (!current.getId().equals(interval.getId())) {
+                    result.add(current);
+                }
+            }
+            result.add(interval);
+            return of(result);
+        }
+
+        Intervals without(Long bookingId) {
+            List<BookingInterval> result = new ArrayList<>(intervals.length);
+            for (BookingInterval current : intervals) {
+                if (!current.getId().equals(bookingId)) {
+                    result.add(current);
+                }
+            }
+            return result.size() == intervals.length ? this : of(result);
+        }
+    }
+}
@@ -1,19 +1,35 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInsertDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 
 import java.util.List;
 
 public interface BookingService {
     BookingDto addBooking(Long userId, BookingInsertDto bookingInsertDto);
 
+    List<BookingBatchResultDto> addBookings(Long userId, List<BookingInsertDto> bookingInsertDtos);
+
     BookingDto statusBooking(Long userId, Long bookingId, Boolean approved);
 
+    List<BookingBatchResultDto> statusBookings(Long userId, BookingStatusUpdateDto statusUpdateDto);
+
     BookingDto getByBooking(Long userId, Long bookingId);
 
     List<BookingDto> getAllByUserOwner(Long userId, StatusBooking state, Integer from, Integer size);
 
     List<BookingDto> getAllBookingsByUser(Long userId, StatusBooking state, Integer from, Integer size);
+
+    BookingSliceDto getAllByUserOwner(Long userId, StatusBooking state, String cursor, Integer size);
+
+    BookingSliceDto getAllBookingsByUser(Long userId, StatusBooking state, String cursor, Integer size);
+
+    BookingSummaryDto getOwnerSummary(Long userId);
+
+    BookingSummaryDto getBookerSummary(Long userId);
 }
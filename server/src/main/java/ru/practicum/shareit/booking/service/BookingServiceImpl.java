@@ -2,13 +2,21 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInsertDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -16,24 +24,41 @@ import ru.practicum.shareit.exception.NullObjectException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.validation.constraints.NotBlank;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String PERIOD_CONSTRAINT = "ex_bookings_item_period";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemLockManager itemLockManager;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public BookingDto addBooking(@NotBlank Long userId, BookingInsertDto bookingInsertDto) {
@@ -51,55 +76,185 @@ public class BookingServiceImpl implements BookingService {
         }
 
 
-        // Проверка даты аренды
-        List<Booking> bookingTest = new ArrayList<>(bookingRepository.getBookingByDate(item.getId(), bookingInsertDto.getStart(),
-                bookingInsertDto.getEnd()));
-        if (bookingTest.size() != 0) {
-            throw new ValidationException("The current rental period is busy");
-        }
+        // Проверка даты аренды и запись - под блокировкой вещи
+        Booking booking = itemLockManager.withLock(item.getId(), () -> {
+            if (bookingIntervalIndex.overlaps(item.getId(), bookingInsertDto.getStart(), bookingInsertDto.getEnd())) {
+                throw new ValidationException("The current rental period is busy");
+            }
+
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new NullObjectException("User with id: " + userId + " not found"));
 
+            Booking newBooking = bookingMapper.toEntity(bookingInsertDto);
+
+            newBooking.setItem(item);
+            newBooking.setBooker(user);
+            newBooking.setStatus(StatusBooking.WAITING);
+
+            return bookingRepository.save(newBooking);
+        });
+
+        log.info("add booking - id:{} name:{}", item.getId(), item.getName());
+
+        return bookingMapper.toDto(booking);
+    }
+
+    @Override
+    public List<BookingBatchResultDto> addBookings(Long userId, List<BookingInsertDto> bookingInsertDtos) {
+        if (bookingInsertDtos == null || bookingInsertDtos.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("Booking batch must not contain null");
+        }
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NullObjectException("User with id: " + userId + " not found"));
 
+        Set<Long> itemIds = bookingInsertDtos.stream()
+                .map(BookingInsertDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
 
-        Booking booking = bookingMapper.toEntity(bookingInsertDto);
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(toMap(Item::getId, Function.identity()));
 
-        booking.setItem(item);
-        booking.setBooker(user);
-        booking.setStatus(StatusBooking.WAITING);
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingInsertDtos.size()];
 
-        booking = bookingRepository.save(booking);
+        // Проверка пересечений и запись - под блокировкой всех вещей пакета
+        itemLockManager.withLocks(items.keySet(), () -> {
+            LocalDateTime dateTime = LocalDateTime.now();
+            Map<Long, List<BookingInsertDto>> accepted = new HashMap<>();
+            List<Booking> bookings = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
 
-        log.info("add booking - id:{} name:{}", item.getId(), item.getName());
+            for (int i = 0; i < bookingInsertDtos.size(); i++) {
+                BookingInsertDto dto = bookingInsertDtos.get(i);
+                Item item = items.get(dto.getItemId());
+                String error = checkBatchEntry(userId, dto, item, dateTime, accepted);
 
-        return bookingMapper.toDto(booking);
+                if (error != null) {
+                    results[i] = BookingBatchResultDto.failure(i, error);
+                    continue;
+                }
+
+                accepted.computeIfAbsent(item.getId(), id -> new ArrayList<>()).add(dto);
+
+                Booking booking = bookingMapper.toEntity(dto);
+                booking.setItem(item);
+                booking.setBooker(user);
+                booking.setStatus(StatusBooking.WAITING);
+                bookings.add(booking);
+                positions.add(i);
+            }
+
+            bookingRepository.insertAll(bookings);
+
+            for (int i = 0; i < bookings.size(); i++) {
+                results[positions.get(i)] = BookingBatchResultDto.success(positions.get(i),
+                        bookingMapper.toDto(bookings.get(i)));
+            }
+            return null;
+        });
+
+        log.info("add bookings - userId:{} size:{}", userId, bookingInsertDtos.size());
+
+        return List.of(results);
     }
 
     @Override
     public BookingDto statusBooking(Long userId, Long bookerId, Boolean approved) {
-        Booking booking = bookingRepository.findById(bookerId)
+        Long itemId = bookingRepository.getItemIdByBookingId(bookerId)
                 .orElseThrow(() -> new NullObjectException("Booking with id:" + bookerId + " not found"));
 
-        if (approved) {
-            if (booking.getStatus().equals(StatusBooking.APPROVED)) {
-                throw new ValidationException("Cannot be changed");
+        // Чтение, проверка статуса и пересечения, смена статуса - под блокировкой вещи:
+        // прочитанное до блокировки могло быть изменено другим запросом
+        Booking booking = itemLockManager.withLock(itemId, () -> {
+            Booking found = bookingRepository.findById(bookerId)
+                    .orElseThrow(() -> new NullObjectException("Booking with id:" + bookerId + " not found"));
+            return changeStatus(userId, found, approved);
+        });
+
+        return bookingMapper.toDto(booking);
+    }
+
+    @Override
+    public List<BookingBatchResultDto> statusBookings(Long userId, BookingStatusUpdateDto statusUpdateDto) {
+        List<Long> bookingIds = statusUpdateDto.getBookingIds();
+        if (statusUpdateDto.getApproved() == null || bookingIds == null || bookingIds.isEmpty()) {
+            throw new ValidationException("Booking ids and decision 'approved' are required");
+        }
+
+        List<Long> itemIds = bookingRepository.getOwnerItemIds(bookingIds, userId);
+
+        Map<Long, String> errors = new HashMap<>();
+        StatusBooking status = statusUpdateDto.getApproved() ? StatusBooking.APPROVED : StatusBooking.REJECTED;
+
+        // Чтение, проверка пересечений и смена статуса - под блокировкой всех вещей пакета
+        List<Booking> changed = itemLockManager.withLocks(itemIds, () -> {
+            // Пересекающиеся подтверждения разрешаются по порядку (начало, id) - выигрывает более раннее
+            List<Booking> candidates = bookingRepository.getBookingsByIds(bookingIds).stream()
+                    .filter(booking -> booking.getItem().getOwnerId().equals(userId))
+                    .sorted(Comparator.comparing(Booking::getStartDate).thenComparing(Booking::getId))
+                    .collect(toList());
+            List<Booking> accepted = new ArrayList<>();
+
+            for (Booking booking : candidates) {
+                String error = checkStatusEntry(booking, status, accepted);
+                if (error != null) {
+                    errors.put(booking.getId(), error);
+                } else {
+                    accepted.add(booking);
+                }
             }
-            if (booking.getItem().getOwnerId().equals(userId)) {
-                booking.setStatus(StatusBooking.APPROVED);
-            } else {
-                throw new NullObjectException("Cannot be changed");
+
+            if (accepted.isEmpty()) {
+                return accepted;
             }
-        } else {
-            if (booking.getItem().getOwnerId().equals(userId)) {
-                booking.setStatus(StatusBooking.REJECTED);
+
+            try {
+                // смена статуса и пересчёт item_booking_summary - одной транзакцией
+                transactionTemplate.executeWithoutResult(tx -> {
+                    bookingRepository.updateStatus(accepted.stream().map(Booking::getId).collect(toList()), status);
+                    itemBookingSummaryService.refresh(accepted.stream()
+                            .map(booking -> booking.getItem().getId())
+                            .distinct()
+                            .collect(toList()));
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (!isPeriodConflict(e)) {
+                    throw e;
+                }
+                // ex_bookings_item_period - индекс устарел
+                itemIds.forEach(bookingIntervalIndex::evict);
+                throw new ValidationException("The current rental period is busy");
+            }
+
+            for (Booking booking : accepted) {
+                booking.setStatus(status);
+                if (status == StatusBooking.APPROVED) {
+                    bookingIntervalIndex.add(booking);
+                } else {
+                    bookingIntervalIndex.remove(booking);
+                }
+            }
+            return accepted;
+        });
+
+        Map<Long, Booking> changedById = changed.stream()
+                .collect(toMap(Booking::getId, Function.identity()));
+
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingIds.size());
+        for (int i = 0; i < bookingIds.size(); i++) {
+            Long bookingId = bookingIds.get(i);
+            if (changedById.containsKey(bookingId)) {
+                results.add(BookingBatchResultDto.success(i, bookingMapper.toDto(changedById.get(bookingId))));
             } else {
-                booking.setStatus(StatusBooking.CANCELED);
+                results.add(BookingBatchResultDto.failure(i,
+                        errors.getOrDefault(bookingId, "Booking with id:" + bookingId + " not found")));
             }
         }
 
-        booking = bookingRepository.save(booking);
-        return bookingMapper.toDto(booking);
+        log.info("status bookings - ownerId:{} status:{} changed:{}", userId, status, changed.size());
+
+        return results;
     }
 
     @Override
@@ -263,4 +418,162 @@ public class BookingServiceImpl implements BookingService {
                 throw new NullObjectException("Unknown state: " + state.name());
         }
     }
+
+    @Override
+    public BookingSliceDto getAllByUserOwner(Long userId, StatusBooking state, String cursor, Integer size) {
+        if (size == null || size <= 0) {
+            throw new ValidationException("Size must be positive");
+        }
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NullObjectException("User with id: " + userId + " not found"));
+
+        BookingCursor after = BookingCursor.decode(cursor);
+        return toSliceDto(bookingRepository.getOwnerBookingSlice(userId, state, LocalDateTime.now(),
+                after.getStart(), after.getId(), size));
+    }
+
+    @Override
+    public BookingSliceDto getAllBookingsByUser(Long userId, StatusBooking state, String cursor, Integer size) {
+        if (size == null || size <= 0) {
+            throw new ValidationException("Size must be positive");
+        }
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NullObjectException("User with id: " + userId + " not found"));
+
+        BookingCursor after = BookingCursor.decode(cursor);
+        return toSliceDto(bookingRepository.getBookerBookingSlice(userId, state, LocalDateTime.now(),
+                after.getStart(), after.getId(), size));
+    }
+
+    @Override
+    public BookingSummaryDto getOwnerSummary(Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NullObjectException("User with id: " + userId + " not found"));
+
+        return BookingSummaryDto.of(bookingRepository.countOwnerBookings(userId, LocalDateTime.now()));
+    }
+
+    @Override
+    public BookingSummaryDto getBookerSummary(Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NullObjectException("User with id: " + userId + " not found"));
+
+        return BookingSummaryDto.of(bookingRepository.countBookerBookings(userId, LocalDateTime.now()));
+    }
+
+    private String checkBatchEntry(Long userId, BookingInsertDto dto, Item item, LocalDateTime dateTime,
+                                   Map<Long, List<BookingInsertDto>> accepted) {
+        if (item == null) {
+            return "Item with id:" + dto.getItemId() + " not found";
+        }
+        if (item.getOwnerId().equals(userId)) {
+            return "This thing is yours";
+        }
+        if (!item.getAvailable()) {
+            return "Item with id:" + item.getName() + " Unavailable";
+        }
+        if (dto.getStart() == null || dto.getEnd() == null
+                || dto.getStart().isBefore(dateTime)
+                || !dto.getEnd().isAfter(dto.getStart())) {
+            return "Invalid rental period";
+        }
+        // пересечение с другими записями пакета и с подтверждёнными арендами
+        boolean batchOverlap = accepted.getOrDefault(item.getId(), List.of()).stream()
+                .anyMatch(other -> other.getStart().isBefore(dto.getEnd()) && other.getEnd().isAfter(dto.getStart()));
+        if (batchOverlap || bookingIntervalIndex.overlaps(item.getId(), dto.getStart(), dto.getEnd())) {
+            return "The current rental period is busy";
+        }
+        return null;
+    }
+
+    private String checkStatusEntry(Booking booking, StatusBooking status, List<Booking> accepted) {
+        if (status == StatusBooking.REJECTED) {
+            return null;
+        }
+        if (booking.getStatus().equals(StatusBooking.APPROVED)) {
+            return "Cannot be changed";
+        }
+        boolean batchOverlap = accepted.stream()
+                .anyMatch(other -> other.getItem().getId().equals(booking.getItem().getId())
+                        && other.getStartDate().isBefore(booking.getEndDate())
+                        && other.getEndDate().isAfter(booking.getStartDate()));
+        if (batchOverlap || bookingIntervalIndex.overlaps(booking.getItem().getId(),
+                booking.getStartDate(), booking.getEndDate())) {
+            return "The current rental period is busy";
+        }
+        return null;
+    }
+
+    private Booking changeStatus(Long userId, Booking booking, Boolean approved) {
+        if (approved) {
+            if (booking.getStatus().equals(StatusBooking.APPROVED)) {
+                throw new ValidationException("Cannot be changed");
+            }
+            if (!booking.getItem().getOwnerId().equals(userId)) {
+                throw new NullObjectException("Cannot be changed");
+            }
+            // Проверка пересечения с подтверждёнными арендами (в PostgreSQL дополнительно ex_bookings_item_period)
+            if (bookingIntervalIndex.overlaps(booking.getItem().getId(), booking.getStartDate(), booking.getEndDate())) {
+                throw new ValidationException("The current rental period is busy");
+            }
+            booking.setStatus(StatusBooking.APPROVED);
+        } else {
+            if (booking.getItem().getOwnerId().equals(userId)) {
+                booking.setStatus(StatusBooking.REJECTED);
+            } else {
+                booking.setStatus(StatusBooking.CANCELED);
+            }
+        }
+
+        Booking changed = booking;
+        try {
+            // смена статуса и пересчёт item_booking_summary - одной транзакцией
+            booking = transactionTemplate.execute(tx -> {
+                Booking saved = bookingRepository.save(changed);
+                itemBookingSummaryService.refresh(saved.getItem().getId());
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (!isPeriodConflict(e)) {
+                throw e;
+            }
+            // ex_bookings_item_period - период уже подтверждён для другой аренды, индекс устарел
+            bookingIntervalIndex.evict(booking.getItem().getId());
+            throw new ValidationException("The current rental period is busy");
+        }
+
+        if (booking.getStatus() == StatusBooking.APPROVED) {
+            bookingIntervalIndex.add(booking);
+        } else {
+            bookingIntervalIndex.remove(booking);
+        }
+
+        return booking;
+    }
+
+    /** Нарушено именно ex_bookings_item_period (exclusion violation), а не FK/NOT NULL и т.п. **/
+    private static boolean isPeriodConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException
+                    && PERIOD_CONSTRAINT.equalsIgnoreCase(((ConstraintViolationException) cause).getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException
+                    && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BookingSliceDto toSliceDto(Slice<Booking> slice) {
+        List<Booking> bookings = slice.getContent();
+        String nextCursor = slice.hasNext() ? BookingCursor.encode(bookings.get(bookings.size() - 1)) : null;
+
+        return new BookingSliceDto(bookings.stream()
+                .map(bookingMapper::toDto)
+                .collect(toList()),
+                nextCursor
+        );
+    }
 }
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Полосатые (striped) блокировки по id вещи.
+ * Проверка пересечения и запись бронирования одной вещи выполняются последовательно,
+ * операции с вещами из разных полос не блокируют друг друга.
+ **/
+@Component
+public class ItemLockManager {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public ItemLockManager(@Value("${shareit.booking.lock-stripes:256}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1; // ближайшая степень двойки
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long itemId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(itemId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Блокировка нескольких вещей - полосы берутся по возрастанию номера, чтобы исключить взаимоблокировку **/
+    public <T> T withLocks(Collection<Long> itemIds, Supplier<T> action) {
+        int[] indexes = itemIds.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    int stripeIndex(Long itemId) {
+        long hash = itemId * 0x9E3779B97F4A7C15L; // перемешивание соседних id по полосам
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private ReentrantLock stripeFor(Long itemId) {
+        return stripes[stripeIndex(itemId)];
+    }
+}
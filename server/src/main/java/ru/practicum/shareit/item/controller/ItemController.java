@@ -43,8 +43,10 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> getItemSearch(@RequestParam("text") String search) {
-        return itemService.getItemSearch(search);
+    public List<ItemDto> getItemSearch(@RequestParam("text") String search,
+                                       @RequestParam(defaultValue = "0") Integer from,
+                                       @RequestParam(required = false) Integer size) {
+        return itemService.getItemSearch(search, from, size);
     }
 
     @PostMapping("{itemId}/comment")
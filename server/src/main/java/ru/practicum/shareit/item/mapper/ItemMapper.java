@@ -1,11 +1,11 @@
 package ru.practicum.shareit.item.mapper;
 
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 
 import java.util.List;
 
@@ -23,6 +23,12 @@ public class ItemMapper {
         );
     }
 
+    /** Копия вещи - для кэша items и поискового индекса **/
+    public static Item copy(Item item) {
+        return new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwnerId(), item.getRequestId());
+    }
+
     public static ItemDto toItemDto(Item item) {
         return new ItemDto(item.getId(),                                    // id
                 item.getName(),                                             // name
@@ -52,7 +58,7 @@ public class ItemMapper {
         return itemDto;
     }
 
-    public static ItemDto toItemDto(Item item, Booking lastBooking, Booking nextBooking, List<Comment> comments) {
+    public static ItemDto toItemDto(Item item, ItemBookingSummary summary, List<Comment> comments) {
         ItemDto itemDto = new ItemDto();
         itemDto.setId(item.getId());
         itemDto.setName(item.getName());
@@ -63,24 +69,24 @@ public class ItemMapper {
         itemDto.setNextBooking(null);
         itemDto.setComments(List.of());
 
-        if (lastBooking != null) {
+        if (summary != null && summary.getLastBookingId() != null) {
             ItemDto.Booking lastBookingDto = new ItemDto.Booking();
 
-            lastBookingDto.setId(lastBooking.getId());
-            lastBookingDto.setBookerId(lastBooking.getBooker().getId());
-            lastBookingDto.setStart(lastBooking.getStartDate());
-            lastBookingDto.setEnd(lastBooking.getEndDate());
+            lastBookingDto.setId(summary.getLastBookingId());
+            lastBookingDto.setBookerId(summary.getLastBookerId());
+            lastBookingDto.setStart(summary.getLastStart());
+            lastBookingDto.setEnd(summary.getLastEnd());
 
             itemDto.setLastBooking(lastBookingDto);
         }
 
-        if (nextBooking != null) {
+        if (summary != null && summary.getNextBookingId() != null) {
             ItemDto.Booking nextBookingDto = new ItemDto.Booking();
 
-            nextBookingDto.setId(nextBooking.getId());
-            nextBookingDto.setBookerId(nextBooking.getBooker().getId());
-            nextBookingDto.setStart(nextBooking.getStartDate());
-            nextBookingDto.setEnd(nextBooking.getEndDate());
+            nextBookingDto.setId(summary.getNextBookingId());
+            nextBookingDto.setBookerId(summary.getNextBookerId());
+            nextBookingDto.setStart(summary.getNextStart());
+            nextBookingDto.setEnd(summary.getNextEnd());
 
             itemDto.setNextBooking(nextBookingDto);
         }
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Предрассчитанные последнее и следующее подтверждённые бронирования вещи.
+ * Обновляется вместе со сменой статуса бронирования, validUntil - момент,
+ * когда следующее бронирование начнётся и запись нужно пересчитать (null - без срока).
+ **/
+@Entity
+@Table(name = "item_booking_summary")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class ItemBookingSummary implements Persistable<Long> {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "last_start")
+    private LocalDateTime lastStart;
+
+    @Column(name = "last_end")
+    private LocalDateTime lastEnd;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+
+    @Column(name = "next_end")
+    private LocalDateTime nextEnd;
+
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+
+    // запись прочитана из БД или уже сохранена - id задаётся вручную, поэтому новизну по нему не определить
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean stored;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    /** Новая запись сохраняется через persist - без проверочного SELECT по id **/
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+
+    public boolean isValidAt(LocalDateTime dateTime) {
+        return validUntil == null || validUntil.isAfter(dateTime);
+    }
+}
@@ -1,12 +1,22 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     /** Список всех комментариев пользователя(владельца) **/
     List<Comment> findAllByItem_Id(Long itemId);
+
+    /** Список всех комментариев для списка вещей **/
+    @Query("from Comment c " +
+            "join fetch c.item " +
+            "join fetch c.user " +
+            "where c.item.id in :itemIds")
+    List<Comment> getCommentsByItemIds(@Param("itemIds") Collection<Long> itemIds);
 }
@@ -1,22 +1,81 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEMS_CACHE = "items";
+
+    /** Вещь по id - через кэш items (копия), сбрасывается при записи и удалении вещи **/
+    @Override
+    @Cacheable(cacheNames = ITEMS_CACHE, unless = "#result == null")
+    Optional<Item> findById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = ITEMS_CACHE, key = "#p0.id", condition = "#p0.id != null")
+    <S extends Item> S save(S item);
+
+    @Override
+    @CacheEvict(cacheNames = ITEMS_CACHE, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = ITEMS_CACHE, key = "#p0.id")
+    void delete(Item item);
+
     /** Список всех вещей пользователя **/
     List<Item> findAllByOwnerId(Long userId);
 
-    /** поиск вещи по названию **/
+    /** поиск доступной вещи по подстроке названия или описания, сначала совпадения в названии **/
     @Query("from Item i " +
-            "where upper(i.name) like upper(:text) " +
-            "or upper(i.description) like upper(:text)")
-    List<Item> getItemByName(@Param("text") String text);
+            "where (upper(i.name) like upper(:text) " +
+            "or upper(i.description) like upper(:text)) " +
+            "and i.available = true " +
+            "order by case when upper(i.name) like upper(:text) then 0 else 1 end, i.id")
+    List<Item> getItemByName(@Param("text") String text, Pageable pageable);
+
+    /**
+     * Поиск доступной вещи по подстроке - шаблон в нижнем регистре, спецсимволы экранированы '\'.
+     * В PostgreSQL использует триграммные индексы ix_items_name_trgm и ix_items_description_trgm.
+     * Сначала совпадения в названии.
+     **/
+    @Query(value = "select i.* from items i " +
+            "where (lower(i.name_item) like :pattern " +
+            "or lower(i.description) like :pattern) " +
+            "and i.is_available " +
+            "order by case when lower(i.name_item) like :pattern then 0 else 1 end, i.id",
+            nativeQuery = true)
+    List<Item> getItemBySubstring(@Param("pattern") String pattern, Pageable pageable);
+
+    /** Полнотекстовый поиск доступной вещи (PostgreSQL), по убыванию релевантности **/
+    @Query(value = "select i.* from items i " +
+            "where i.is_available " +
+            "and i.search_vector @@ plainto_tsquery('russian', :text) " +
+            "order by ts_rank(i.search_vector, plainto_tsquery('russian', :text)) desc, i.id",
+            nativeQuery = true)
+    List<Item> getItemByFullText(@Param("text") String text, Pageable pageable);
 
     List<Item> findAllByRequestId(Long requestId);
+
+    /** Вещи, созданные в ответ на запросы - одним запросом для страницы запросов **/
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    /** Потоковое чтение доступных вещей для построения поискового индекса **/
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<Item> streamAllByAvailableTrue();
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск PostgreSQL по items.search_vector (GIN ix_items_search_vector),
+ * результаты по убыванию ts_rank. На других БД (H2 в профилях ci,test) - поиск подстроки (like).
+ **/
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.mode", havingValue = "fulltext")
+public class FullTextItemSearch implements ItemSearchEngine {
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final ItemRepository itemRepository;
+    private final boolean fullText;
+
+    public FullTextItemSearch(ItemRepository itemRepository, DataSource dataSource) throws MetaDataAccessException {
+        this.itemRepository = itemRepository;
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.fullText = POSTGRESQL.equals(database);
+        if (!fullText) {
+            log.warn("full-text item search is not supported by {}, like search is used", database);
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        if (fullText) {
+            return itemRepository.getItemByFullText(text, pageable);
+        }
+        return itemRepository.getItemByName("%" + text + "%", pageable);
+    }
+}
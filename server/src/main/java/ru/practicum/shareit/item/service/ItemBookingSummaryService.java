@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemLockManager;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Проекция последнего/следующего бронирования вещи (item_booking_summary).
+ * Запись пересчитывается при смене статуса бронирования - в той же транзакции и под блокировкой вещи,
+ * а при чтении - только если отсутствует или устарела (следующее бронирование уже началось).
+ **/
+@Slf4j
+@Service
+@AllArgsConstructor
+public class ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemLockManager itemLockManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Пустая проекция для новой вещи **/
+    public void create(Long itemId) {
+        itemBookingSummaryRepository.save(new ItemBookingSummary(itemId));
+    }
+
+    public ItemBookingSummary getSummary(Long itemId) {
+        LocalDateTime dateTime = LocalDateTime.now();
+        return itemBookingSummaryRepository.findById(itemId)
+                .filter(summary -> summary.isValidAt(dateTime))
+                .orElseGet(() -> itemLockManager.withLock(itemId, () -> refresh(itemId)));
+    }
+
+    /** Отсутствующие и устаревшие проекции пересчитываются вместе - фиксированное число запросов **/
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds) {
+        LocalDateTime dateTime = LocalDateTime.now();
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryRepository.findAllById(itemIds).stream()
+                .filter(summary -> summary.isValidAt(dateTime))
+                .collect(toMap(ItemBookingSummary::getItemId, Function.identity()));
+
+        List<Long> staleIds = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId))
+                .distinct()
+                .collect(toList());
+        if (!staleIds.isEmpty()) {
+            summaries.putAll(itemLockManager.withLocks(staleIds, () -> refresh(staleIds)));
+        }
+        return summaries;
+    }
+
+    /** Пересчёт проекции по подтверждённым бронированиям - вызывается под блокировкой вещи **/
+    public ItemBookingSummary refresh(Long itemId) {
+        return refresh(List.of(itemId)).get(itemId);
+    }
+
+    /**
+     * Пересчёт проекций списка вещей - вызывается под блокировкой этих вещей.
+     * Последние и следующие бронирования читаются для всего списка, записи сохраняются одним пакетом.
+     **/
+    public Map<Long, ItemBookingSummary> refresh(Collection<Long> itemIds) {
+        return transactionTemplate.execute(tx -> {
+            LocalDateTime dateTime = LocalDateTime.now();
+            Map<Long, ItemBookingSummary> summaries = itemBookingSummaryRepository.findAllById(itemIds).stream()
+                    .collect(toMap(ItemBookingSummary::getItemId, Function.identity()));
+            Map<Long, Booking> last = byItemId(bookingRepository.getLastBookings(itemIds, dateTime));
+            Map<Long, Booking> next = byItemId(bookingRepository.getNextBookings(itemIds, dateTime));
+
+            for (Long itemId : itemIds) {
+                ItemBookingSummary summary = summaries.computeIfAbsent(itemId, ItemBookingSummary::new);
+                setLast(summary, last.get(itemId));
+                setNext(summary, next.get(itemId));
+                log.debug("refresh booking summary - itemId:{} validUntil:{}", itemId, summary.getValidUntil());
+            }
+
+            itemBookingSummaryRepository.saveAll(summaries.values());
+            return summaries;
+        });
+    }
+
+    /** У вещи не больше одного бронирования на момент начала, при совпадении берётся меньший id **/
+    private static Map<Long, Booking> byItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        BinaryOperator.minBy((a, b) -> Long.compare(a.getId(), b.getId()))));
+    }
+
+    private void setLast(ItemBookingSummary summary, Booking booking) {
+        summary.setLastBookingId(booking == null ? null : booking.getId());
+        summary.setLastBookerId(booking == null ? null : booking.getBooker().getId());
+        summary.setLastStart(booking == null ? null : booking.getStartDate());
+        summary.setLastEnd(booking == null ? null : booking.getEndDate());
+    }
+
+    private void setNext(ItemBookingSummary summary, Booking booking) {
+        summary.setNextBookingId(booking == null ? null : booking.getId());
+        summary.setNextBookerId(booking == null ? null : booking.getBooker().getId());
+        summary.setNextStart(booking == null ? null : booking.getStartDate());
+        summary.setNextEnd(booking == null ? null : booking.getEndDate());
+        // с началом следующего бронирования оно становится последним
+        summary.setValidUntil(booking == null ? null : booking.getStartDate());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * LRU-кэш первой страницы поиска: нормализованный запрос и размер страницы -> id найденных вещей.
+ * Запись живёт не дольше ttl. При записи вещи (после фиксации транзакции) удаляются запросы,
+ * слова которых встречаются в старом или новом тексте вещи.
+ **/
+@Component
+public class ItemSearchCache {
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private long version;
+
+    @Autowired
+    public ItemSearchCache(@Value("${shareit.item.search.cache.size:1000}") int maxSize,
+                           @Value("${shareit.item.search.cache.ttl:60s}") Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    ItemSearchCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ItemSearchCache.this.maxSize;
+            }
+        };
+    }
+
+    /** id вещей первой страницы или null, если запроса нет в кэше или он устарел **/
+    public synchronized List<Long> get(String text, int size) {
+        String key = key(text, size);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.expires.isAfter(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.ids;
+    }
+
+    /** Счётчик изменений - читается до поиска и передаётся в put **/
+    public synchronized long version() {
+        return version;
+    }
+
+    /** Сохранить результат, если с начала поиска вещи не изменялись **/
+    public synchronized void put(String text, int size, List<Long> ids, long version) {
+        if (maxSize <= 0 || this.version != version) {
+            return;
+        }
+        entries.put(key(text, size), new Entry(List.copyOf(ids), clock.instant().plus(ttl)));
+    }
+
+    /** Вещь с указанным текстом (название и описание до и после изменения) записана **/
+    public void evict(String... texts) {
+        String written = Arrays.stream(texts)
+                .filter(Objects::nonNull)
+                .map(text -> text.toLowerCase(Locale.ROOT))
+                .collect(joining(" "));
+        AfterCommit.run(() -> evictMatching(written));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private synchronized void evictMatching(String written) {
+        version++;
+        entries.keySet().removeIf(key -> matches(key.substring(key.indexOf('|') + 1), written));
+    }
+
+    private static boolean matches(String query, String written) {
+        Set<String> terms = ItemSearchIndex.tokenize(query);
+        return terms.isEmpty() || terms.stream().anyMatch(written::contains);
+    }
+
+    private static String key(String text, int size) {
+        return size + "|" + normalize(text);
+    }
+
+    private static class Entry {
+        private final List<Long> ids;
+        private final Instant expires;
+
+        private Entry(List<Long> ids, Instant expires) {
+            this.ids = ids;
+            this.expires = expires;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по тексту.
+ * Реализация выбирается свойством shareit.item.search.mode: memory (по умолчанию), fulltext, trigram, like.
+ * Результаты упорядочены по релевантности, при равной релевантности - по id.
+ **/
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    /** Кэшировать ли первую страницу результатов в ItemSearchCache **/
+    default boolean cacheable() {
+        return true;
+    }
+
+    /** Вещь добавлена или изменена - для движков с собственным индексом **/
+    default void index(Item item) {
+    }
+}
@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Инвертированный индекс доступных вещей по суффиксам слов названия и описания.
+ * Каждое слово запроса ищется как подстрока слова вещи (префикс одного из его суффиксов) - "рель"
+ * находит "дрель", как и поиск like; слова запроса объединяются по И.
+ * Релевантность - сумма по словам запроса: совпадение со словом названия 4, подстрока слова названия 3,
+ * совпадение со словом описания 2, подстрока слова описания 1.
+ * Индекс строится из БД при старте и обновляется при добавлении и изменении вещи
+ * (внутри транзакции - после её фиксации).
+ **/
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.mode", havingValue = "memory", matchIfMissing = true)
+public class ItemSearchIndex implements ItemSearchEngine {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>(); // суффикс слова -> id вещей
+    private final Map<Long, Item> items = new HashMap<>();                    // проиндексированные вещи
+    private final Map<Long, Set<String>> itemTokens = new HashMap<>();
+    private final Map<Long, Set<String>> nameTokens = new HashMap<>();
+    private final EntityManager em;
+
+    public ItemSearchIndex(ItemRepository itemRepository, EntityManager em) {
+        this.itemRepository = itemRepository;
+        this.em = em;
+    }
+
+    /** Полное построение индекса потоковым чтением доступных вещей **/
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try (Stream<Item> stream = itemRepository.streamAllByAvailableTrue()) {
+            postings.clear();
+            items.clear();
+            itemTokens.clear();
+            nameTokens.clear();
+            stream.forEach(item -> {
+                add(ItemMapper.copy(item));
+                em.detach(item);
+            });
+            log.info("item search index - rebuild size:{} tokens:{}", items.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Добавить или обновить вещь, недоступная вещь из индекса удаляется **/
+    @Override
+    public void index(Item item) {
+        Item copy = ItemMapper.copy(item);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(copy.getId());
+                if (Boolean.TRUE.equals(copy.getAvailable())) {
+                    add(copy);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Вещи, у которых для каждого слова запроса есть слово, содержащее его, по убыванию релевантности **/
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        Set<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> matches = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Set<Long> ids = match(term);
+                if (ids.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(ids);
+            }
+            matches.sort((s1, s2) -> Integer.compare(s1.size(), s2.size()));
+
+            Set<Long> result = new HashSet<>(matches.get(0));
+            for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+                result.retainAll(matches.get(i));
+            }
+
+            Map<Long, Integer> scores = new HashMap<>(result.size());
+            result.forEach(id -> scores.put(id, score(id, terms)));
+
+            return result.stream()
+                    .sorted(Comparator.comparing((Long id) -> scores.get(id)).reversed()
+                            .thenComparing(Comparator.naturalOrder()))
+                    .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                    .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                    .map(items::get)
+                    .map(ItemMapper::copy)
+                    .collect(toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean cacheable() {
+        return false;
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        Set<String> tokens = new HashSet<>();
+        Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .forEach(tokens::add);
+        return tokens;
+    }
+
+    private int score(Long itemId, Set<String> terms) {
+        Set<String> name = nameTokens.get(itemId);
+        Set<String> all = itemTokens.get(itemId);
+        int score = 0;
+        for (String term : terms) {
+            if (name.contains(term)) {
+                score += 4;
+            } else if (name.stream().anyMatch(token -> token.contains(term))) {
+                score += 3;
+            } else if (all.contains(term)) {
+                score += 2;
+            } else {
+                score += 1;
+            }
+        }
+        return score;
+    }
+
+    /** Вещи со словом, содержащим term: суффиксы слов, начинающиеся с term **/
+    private Set<Long> match(String term) {
+        Collection<Set<Long>> sets = postings.subMap(term, true, term + Character.MAX_VALUE, false).values();
+        if (sets.size() == 1) {
+            return sets.iterator().next();
+        }
+        Set<Long> ids = new HashSet<>();
+        sets.forEach(ids::addAll);
+        return ids;
+    }
+
+    private void add(Item item) {
+        Set<String> tokens = tokenize(item.getName() + " " + item.getDescription());
+        items.put(item.getId(), item);
+        itemTokens.put(item.getId(), tokens);
+        nameTokens.put(item.getId(), tokenize(item.getName()));
+        suffixes(tokens).forEach(suffix -> postings.computeIfAbsent(suffix, key -> new HashSet<>()).add(item.getId()));
+    }
+
+    private void remove(Long itemId) {
+        Set<String> tokens = itemTokens.remove(itemId);
+        items.remove(itemId);
+        nameTokens.remove(itemId);
+        if (tokens == null) {
+            return;
+        }
+        for (String suffix : suffixes(tokens)) {
+            Set<Long> ids = postings.get(suffix);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(suffix);
+            }
+        }
+    }
+
+    private static Set<String> suffixes(Set<String> tokens) {
+        Set<String> suffixes = new HashSet<>();
+        for (String token : tokens) {
+            for (int i = 0; i < token.length(); i++) {
+                suffixes.add(token.substring(i));
+            }
+        }
+        return suffixes;
+    }
+}
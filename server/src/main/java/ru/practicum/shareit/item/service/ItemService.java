@@ -14,7 +14,7 @@ public interface ItemService {
 
     List<ItemDto> getByUserIdItemAll(Long userId);
 
-    List<ItemDto> getItemSearch(String search);
+    List<ItemDto> getItemSearch(String search, Integer from, Integer size);
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
 }
\ No newline at end of file
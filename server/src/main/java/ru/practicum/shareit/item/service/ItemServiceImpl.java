@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -12,6 +14,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -20,18 +23,32 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import javax.validation.constraints.NotBlank;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 @Service
 @Slf4j
 @AllArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    /** Порядок вещей владельца - по началу следующего бронирования, вещи без бронирования в конце **/
+    static final Comparator<ItemDto> NEXT_BOOKING_ORDER = Comparator.comparing(ItemDto::getNextBooking,
+            Comparator.nullsLast(Comparator.comparing(ItemDto.Booking::getStart)));
+    /** Поиск без size возвращает не больше стольких вещей **/
+    static final int MAX_SEARCH_RESULTS = 1000;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
 
     @Override
     public ItemDto addItem(@NotBlank(message = "missing header data 'X-Sharer-User-Id'") Long userId, ItemDto itemDto) {
@@ -40,7 +57,11 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = ItemMapper.toEntity(itemDto);
         item.setOwnerId(user.getId());
-        itemDto = ItemMapper.toItemDto(itemRepository.save(item));
+        item = itemRepository.save(item);
+        itemBookingSummaryService.create(item.getId());
+        itemSearchEngine.index(item);
+        itemSearchCache.evict(item.getName(), item.getDescription());
+        itemDto = ItemMapper.toItemDto(item);
 
         log.info("new item - id:'{}' name:'{}'", itemDto.getId(), itemDto.getName());
 
@@ -73,7 +94,14 @@ public class ItemServiceImpl implements ItemService {
             updateItem.setDescription(item.getDescription());
         }
 
-        itemDto = ItemMapper.toItemDto(itemRepository.save(updateItem));
+        // прежний текст вещи - для сброса найденных по нему запросов
+        String name = item.getName();
+        String description = item.getDescription();
+
+        updateItem = itemRepository.save(updateItem);
+        itemSearchEngine.index(updateItem);
+        itemSearchCache.evict(name, description, updateItem.getName(), updateItem.getDescription());
+        itemDto = ItemMapper.toItemDto(updateItem);
 
         log.info("update item - id:'{}' name:'{}'", updateItem.getId(), updateItem.getName());
 
@@ -82,7 +110,6 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDto getByItemId(Long userId, Long itemId) {
-        LocalDateTime dateTime = LocalDateTime.now();
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NullObjectException("Thing with id:" + itemId + " does not exist"));
 
@@ -90,14 +117,9 @@ public class ItemServiceImpl implements ItemService {
 
         // Является ли пользователь владельцем вещи
         if (item.getOwnerId().equals(userId)) {
-            Booking last = bookingRepository.getLastBooking(itemId, dateTime).stream()
-                    .findFirst()
-                    .orElse(null);
+            ItemBookingSummary summary = itemBookingSummaryService.getSummary(itemId);
 
-            Booking next = bookingRepository.getNextBooking(itemId)
-                    .orElse(null);
-
-            return ItemMapper.toItemDto(item, last, next, comment);
+            return ItemMapper.toItemDto(item, summary, comment);
         }
 
         return ItemMapper.toItemDto(item, comment);
@@ -105,49 +127,65 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> getByUserIdItemAll(Long userId) {
-        LocalDateTime dateTime = LocalDateTime.now();
         List<Item> items = itemRepository.findAllByOwnerId(userId);
 
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(toList());
+
+        // Бронирования и комментарии для всех вещей владельца - фиксированное число запросов
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryService.getSummaries(itemIds);
+
+        Map<Long, List<Comment>> comments = commentRepository.getCommentsByItemIds(itemIds).stream()
+                .collect(groupingBy(comment -> comment.getItem().getId()));
+
         return items.stream()
-                .map(item -> {
-                    if (item.getOwnerId().equals(userId)) {
-                        Booking last = bookingRepository.getLastBooking(item.getId(), dateTime)
-                                .stream()
-                                .findFirst()
-                                .orElse(null);
-
-                        Booking next = bookingRepository.getNextBooking(item.getId())
-                                .orElse(null);
-
-                        List<Comment> comment = commentRepository.findAllByItem_Id(item.getId());
-
-                        return ItemMapper.toItemDto(item, last, next, comment);
-                    }
-
-                    return ItemMapper.toItemDto(item);
-                })
-                .sorted((o1, o2) -> {
-                    if (o1.getNextBooking() == null) {
-                        return +1;
-                    }
-                    if (o2.getNextBooking() == null) {
-                        return -1;
-                    } else {
-                        return LocalDateTime.parse(o1.getNextBooking().getStart().toString())
-                                .compareTo(LocalDateTime.parse(o2.getNextBooking().getStart().toString()));
-                    }
-                })
+                .map(item -> ItemMapper.toItemDto(item,
+                        summaries.get(item.getId()),
+                        comments.get(item.getId()))
+                )
+                .sorted(NEXT_BOOKING_ORDER)
                 .collect(toList());
     }
 
     @Override
-    public List<ItemDto> getItemSearch(String search) {
+    public List<ItemDto> getItemSearch(String search, Integer from, Integer size) {
         if (search.isEmpty() || search.isBlank()) {
             return List.of();
         }
-        List<Item> items = itemRepository.getItemByName("%" + search + "%");
+        // только доступные вещи, без size - первые MAX_SEARCH_RESULTS найденных
+        Pageable pageable = size != null ? PageRequest.of(from, size) : PageRequest.of(0, MAX_SEARCH_RESULTS);
+        if (from != 0 || size == null || !itemSearchEngine.cacheable()) {
+            return toItemDto(itemSearchEngine.search(search, pageable));
+        }
+
+        // первая страница - из кэша id, вещи читаются одним запросом в порядке релевантности
+        List<Long> ids = itemSearchCache.get(search, size);
+        if (ids != null) {
+            Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                    .collect(toMap(Item::getId, identity()));
+            List<Item> cached = ids.stream()
+                    .map(items::get)
+                    .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                    .collect(toList());
+            if (cached.size() == ids.size()) {
+                return toItemDto(cached);
+            }
+            // вещь стала недоступной после кэширования - страница перечитывается, а не отдаётся короткой
+        }
+
+        long version = itemSearchCache.version();
+        List<Item> items = itemSearchEngine.search(search, pageable);
+        itemSearchCache.put(search, size, items.stream().map(Item::getId).collect(toList()), version);
+        return toItemDto(items);
+    }
+
+    private static List<ItemDto> toItemDto(List<Item> items) {
         return items.stream()
-                .filter(Item::getAvailable)
                 .map(ItemMapper::toItemDto)
                 .collect(toList());
     }
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/** Поиск подстроки в названии и описании (like) **/
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.mode", havingValue = "like")
+public class LikeItemSearch implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    public LikeItemSearch(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.getItemByName("%" + text + "%", pageable);
+    }
+}
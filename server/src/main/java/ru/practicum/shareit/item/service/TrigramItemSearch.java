@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Locale;
+
+/** Поиск подстроки по триграммным индексам PostgreSQL (на H2 - тот же запрос без индекса) **/
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.mode", havingValue = "trigram")
+public class TrigramItemSearch implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    public TrigramItemSearch(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.getItemBySubstring(toPattern(text), pageable);
+    }
+
+    /** %текст% в нижнем регистре, символы шаблона like в тексте экранируются **/
+    static String toPattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
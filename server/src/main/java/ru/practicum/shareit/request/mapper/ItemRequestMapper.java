@@ -5,6 +5,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Map;
 
 import static java.util.stream.Collectors.toList;
 
@@ -35,6 +36,17 @@ public class ItemRequestMapper {
         );
     }
 
+    /** Запросы с вещами, сгруппированными по id запроса **/
+    public static List<ItemRequestDto> toDtoList(List<ItemRequest> itemRequests, Map<Long, List<Item>> items) {
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestDto itemRequestDto = toDto(itemRequest);
+                    itemRequestDto.setItems(toDtoListItem(items.get(itemRequest.getId())));
+                    return itemRequestDto;
+                })
+                .collect(toList());
+    }
+
     public static List<ItemRequestDto.Item> toDtoListItem(List<Item> item) {
         if (item == null) {
             return List.of();
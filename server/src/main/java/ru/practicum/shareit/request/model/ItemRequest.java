@@ -25,7 +25,7 @@ public class ItemRequest {
     @Column(name = "created")
     private LocalDateTime created;
 
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "requester_id")
     private User requester;
 }
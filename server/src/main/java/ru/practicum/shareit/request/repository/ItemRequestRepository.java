@@ -13,8 +13,12 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequesterId_Id(Long userId);
 
-    @Query("from ItemRequest r " +
-            "where r.id <> :userId")
+    /** Автор запроса загружается в том же запросе **/
+    @Query(value = "from ItemRequest r " +
+            "join fetch r.requester " +
+            "where r.requester.id <> :userId",
+            countQuery = "select count(r) from ItemRequest r " +
+                    "where r.requester.id <> :userId")
     Page<ItemRequest> getAllByRequesterUsers(Pageable pageable, @Param("userId") Long userId);
 
 }
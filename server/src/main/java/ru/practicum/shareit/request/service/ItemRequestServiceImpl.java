@@ -18,7 +18,9 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
 @Service
@@ -51,14 +53,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         List<ItemRequest> itemRequests = requestRepository.findAllByRequesterId_Id(userId);
 
-        return itemRequests.stream()
-                .map(itemRequest -> {
-                    ItemRequestDto itemRequestDto = ItemRequestMapper.toDto(itemRequest);
-                    List<Item> items = itemRepository.findAllByRequestId(itemRequest.getId());
-                    itemRequestDto.setItems(ItemRequestMapper.toDtoListItem(items));
-                    return itemRequestDto;
-                })
-                .collect(toList());
+        return toDtoWithItems(itemRequests);
     }
 
     @Override
@@ -67,14 +62,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new NullObjectException("User with id: " + userId + " not found"));
 
         Page<ItemRequest> itemRequests = requestRepository.getAllByRequesterUsers(PageRequest.of(from, size), userId);
-        return itemRequests.stream()
-                .map(itemRequest -> {
-                    ItemRequestDto itemRequestDto = ItemRequestMapper.toDto(itemRequest);
-                    List<Item> items = itemRepository.findAllByRequestId(itemRequest.getId());
-                    itemRequestDto.setItems(ItemRequestMapper.toDtoListItem(items));
-                    return itemRequestDto;
-                })
-                .collect(toList());
+        return toDtoWithItems(itemRequests.getContent());
     }
 
     @Override
@@ -89,4 +77,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequestDto.setItems(ItemRequestMapper.toDtoListItem(items));
         return itemRequestDto;
     }
+
+    /** Вещи для всех запросов - одним запросом, независимо от числа запросов **/
+    private List<ItemRequestDto> toDtoWithItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(toList());
+
+        Map<Long, List<Item>> items = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(groupingBy(Item::getRequestId));
+
+        return ItemRequestMapper.toDtoList(itemRequests, items);
+    }
 }
@@ -15,6 +15,11 @@ public class UserMapper {
         return user;
     }
 
+    /** Копия пользователя - для кэша users **/
+    public static User copy(User user) {
+        return new User(user.getId(), user.getName(), user.getEmail());
+    }
+
     public static UserDto toDto(User user) {
         UserDto userCreateDto = new UserDto();
         userCreateDto.setId(user.getId());
@@ -1,8 +1,30 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Optional;
+
 
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+    String USERS_CACHE = "users";
+
+    /** Пользователь по id - через кэш users (копия), сбрасывается при записи и удалении пользователя **/
+    @Override
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
+    Optional<User> findById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#p0.id", condition = "#p0.id != null")
+    <S extends User> S save(S user);
+
+    @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#p0.id")
+    void delete(User user);
+}
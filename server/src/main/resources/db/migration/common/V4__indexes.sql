@@ -0,0 +1,17 @@
+-- последнее и следующее бронирование вещи, подтверждённые периоды вещи
+CREATE INDEX ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+-- бронирования арендатора по убыванию начала
+CREATE INDEX ix_bookings_booker_start ON bookings (booker_id, start_date);
+
+-- вещи владельца
+CREATE INDEX ix_items_owner ON items (owner_id);
+
+-- вещи, созданные по запросам
+CREATE INDEX ix_items_request ON items (request_id);
+
+-- комментарии к вещам
+CREATE INDEX ix_comments_item ON comments (item_id);
+
+-- запросы пользователя по дате создания
+CREATE INDEX ix_requests_requester_created ON requests (requester_id, created);
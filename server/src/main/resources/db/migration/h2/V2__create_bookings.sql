@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS bookings
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    start_date TIMESTAMP,
+    end_date   TIMESTAMP,
+    item_id    BIGINT NOT NULL,
+    booker_id  BIGINT NOT NULL,
+    status     VARCHAR(30),
+    CONSTRAINT pk_booking PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (booker_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_item FOREIGN KEY (item_id) REFERENCES items (id)
+);
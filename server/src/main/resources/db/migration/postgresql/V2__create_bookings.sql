@@ -0,0 +1,21 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- period пуст (NULL), если у аренды нет начала или конца либо начало не раньше конца:
+-- tsrange с NULL-границей неограничен и пересекался бы со всеми подтверждёнными арендами вещи
+CREATE TABLE IF NOT EXISTS bookings
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    start_date TIMESTAMP,
+    end_date   TIMESTAMP,
+    item_id    BIGINT NOT NULL,
+    booker_id  BIGINT NOT NULL,
+    status     VARCHAR(30),
+    period     TSRANGE GENERATED ALWAYS AS (
+        CASE WHEN start_date < end_date THEN tsrange(start_date, end_date) END
+    ) STORED,
+    CONSTRAINT pk_booking PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (booker_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_item FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT ex_bookings_item_period EXCLUDE USING gist (item_id WITH =, period WITH &&)
+        WHERE (status = 'APPROVED' AND period IS NOT NULL)
+);
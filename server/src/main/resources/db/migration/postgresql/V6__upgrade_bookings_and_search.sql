@@ -0,0 +1,62 @@
+-- таблицы из прежнего schema.sql: V2 их не пересоздаёт, поэтому период, ограничение
+-- и поисковые колонки добавляются сюда, если их ещё нет
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS period TSRANGE GENERATED ALWAYS AS (
+        CASE WHEN start_date < end_date THEN tsrange(start_date, end_date) END
+    ) STORED;
+
+-- подтверждённые аренды, созданные до ограничения, могут пересекаться: по каждой вещи
+-- в порядке начала (затем id) остаётся первая аренда, более поздние пересекающиеся
+-- с уже оставленными отклоняются - результат не зависит от порядка строк в таблице
+DO
+$$
+DECLARE
+    booking  RECORD;
+    item     BIGINT;
+    kept_end TIMESTAMP;
+    rejected INTEGER := 0;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_bookings_item_period') THEN
+        RETURN;
+    END IF;
+    FOR booking IN
+        SELECT id, item_id, start_date, end_date
+        FROM bookings
+        WHERE status = 'APPROVED' AND period IS NOT NULL
+        ORDER BY item_id, start_date, id
+    LOOP
+        IF item IS DISTINCT FROM booking.item_id THEN
+            item := booking.item_id;
+            kept_end := booking.end_date;
+        ELSIF booking.start_date < kept_end THEN
+            UPDATE bookings SET status = 'REJECTED' WHERE id = booking.id;
+            rejected := rejected + 1;
+        ELSE
+            kept_end := booking.end_date;
+        END IF;
+    END LOOP;
+    IF rejected > 0 THEN
+        RAISE WARNING 'ex_bookings_item_period: % overlapping approved bookings set to REJECTED', rejected;
+    END IF;
+
+    ALTER TABLE bookings
+        ADD CONSTRAINT ex_bookings_item_period EXCLUDE USING gist (item_id WITH =, period WITH &&)
+            WHERE (status = 'APPROVED' AND period IS NOT NULL);
+END
+$$;
+
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', coalesce(name_item, '')), 'A') ||
+        setweight(to_tsvector('russian', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_items_search_vector ON items USING gin (search_vector);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING gin (lower(name_item) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING gin (lower(description) gin_trgm_ops);
@@ -0,0 +1,113 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Миграции на базе, созданной прежним schema.sql: выполняются все версии, данные сохраняются.
+ * Проверка PostgreSQL запускается, только если задан SHAREIT_TEST_POSTGRES_URL (и при необходимости
+ * SHAREIT_TEST_POSTGRES_USER, SHAREIT_TEST_POSTGRES_PASSWORD) - база должна быть одноразовой,
+ * схема public в ней пересоздаётся.
+ **/
+class FlywayUpgradeTest {
+    private static final String URL = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1";
+    private static final String POSTGRES_URL = "SHAREIT_TEST_POSTGRES_URL";
+
+    @Test
+    void legacySchemaMigratedToLatest() {
+        DataSource legacy = new DriverManagerDataSource(URL, "test", "test");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql")).execute(legacy);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+        jdbcTemplate.update("INSERT INTO users (name_user, email) VALUES ('owner', 'owner@mail.ru')");
+        jdbcTemplate.update("INSERT INTO items (name_item, description, is_available, owner_id) " +
+                "VALUES ('Дрель', 'Простая дрель', true, 1)");
+
+        new ApplicationContextRunner()
+                .withInitializer(new ConfigDataApplicationContextInitializer())
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                        FlywayAutoConfiguration.class))
+                .withPropertyValues("spring.profiles.active=test", "spring.datasource.url=" + URL)
+                .run(context -> {
+                    List<String> versions = jdbcTemplate.queryForList(
+                            "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"type\" = 'SQL' AND \"success\" " +
+                                    "ORDER BY \"installed_rank\"", String.class);
+
+                    assertThat(context.getStartupFailure(), equalTo(null));
+                    assertThat(versions, contains("1", "2", "4"));
+                    assertThat(count("SELECT count(*) FROM information_schema.tables " +
+                            "WHERE table_name = 'ITEM_BOOKING_SUMMARY'", jdbcTemplate), equalTo(1));
+                    assertThat(count("SELECT count(*) FROM information_schema.indexes " +
+                            "WHERE index_name = 'IX_BOOKINGS_ITEM_STATUS_START'", jdbcTemplate), equalTo(1));
+                    assertThat(count("SELECT count(*) FROM items", jdbcTemplate), equalTo(1));
+                });
+    }
+
+    /** Пересекающиеся подтверждённые аренды прежней схемы: более поздние отклоняются, ограничение добавляется **/
+    @Test
+    @EnabledIfEnvironmentVariable(named = POSTGRES_URL, matches = ".+")
+    void legacyPostgresOverlappingBookingsResolved() {
+        String url = System.getenv(POSTGRES_URL);
+        String user = System.getenv().getOrDefault("SHAREIT_TEST_POSTGRES_USER", "postgres");
+        String password = System.getenv().getOrDefault("SHAREIT_TEST_POSTGRES_PASSWORD", "postgres");
+        DataSource legacy = new DriverManagerDataSource(url, user, password);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+        jdbcTemplate.execute("DROP SCHEMA public CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA public");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql")).execute(legacy);
+        jdbcTemplate.update("INSERT INTO users (id, name_user, email) VALUES (1, 'owner', 'owner@mail.ru')");
+        jdbcTemplate.update("INSERT INTO users (id, name_user, email) VALUES (2, 'booker', 'booker@mail.ru')");
+        jdbcTemplate.update("INSERT INTO items (id, name_item, description, is_available, owner_id) " +
+                "VALUES (1, 'Дрель', 'Простая дрель', true, 1)");
+        // 1 и 3 не пересекаются, 2 пересекается с обеими, 4 без конца, 5 - отклонённая поверх подтверждённых
+        insertBooking(jdbcTemplate, 1, "2030-01-01 10:00", "2030-01-01 12:00", "APPROVED");
+        insertBooking(jdbcTemplate, 2, "2030-01-01 11:00", "2030-01-01 13:00", "APPROVED");
+        insertBooking(jdbcTemplate, 3, "2030-01-01 12:00", "2030-01-01 14:00", "APPROVED");
+        insertBooking(jdbcTemplate, 4, "2030-01-01 09:00", null, "APPROVED");
+        insertBooking(jdbcTemplate, 5, "2030-01-01 10:00", "2030-01-01 14:00", "REJECTED");
+
+        new ApplicationContextRunner()
+                .withInitializer(new ConfigDataApplicationContextInitializer())
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                        FlywayAutoConfiguration.class))
+                .withPropertyValues("spring.datasource.url=" + url, "spring.datasource.username=" + user,
+                        "spring.datasource.password=" + password)
+                .run(context -> {
+                    List<String> statuses = jdbcTemplate.queryForList(
+                            "SELECT status FROM bookings ORDER BY id", String.class);
+
+                    assertThat(context.getStartupFailure(), equalTo(null));
+                    assertThat(statuses, contains("APPROVED", "REJECTED", "APPROVED", "APPROVED", "REJECTED"));
+                    assertThat(count("SELECT count(*) FROM pg_constraint " +
+                            "WHERE conname = 'ex_bookings_item_period'", jdbcTemplate), equalTo(1));
+                    assertThrows(DataIntegrityViolationException.class, () -> insertBooking(jdbcTemplate, 6,
+                            "2030-01-01 11:30", "2030-01-01 12:30", "APPROVED"));
+                });
+    }
+
+    private static void insertBooking(JdbcTemplate jdbcTemplate, long id, String start, String end, String status) {
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), 1, 2, ?)", id, start, end, status);
+    }
+
+    private static int count(String sql, JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Запоминает запросы, которые приложение отправляет в БД, вместе с параметрами -
+ * чтобы проверять планы тех запросов, которые на самом деле генерируют Hibernate и JDBC.
+ * Подключается в тест через @Import(SqlRecorder.class).
+ **/
+public class SqlRecorder implements BeanPostProcessor {
+    private final List<Query> queries = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return wrap(DataSource.class, bean, (delegate, method, args) -> {
+                Object result = method.invoke(delegate, args);
+                return "getConnection".equals(method.getName()) ? connection((Connection) result) : result;
+            });
+        }
+        return bean;
+    }
+
+    public void clear() {
+        queries.clear();
+    }
+
+    /** Последний выполненный запрос, SQL которого содержит фрагмент (без учёта регистра) **/
+    public Query last(String fragment) {
+        for (int i = queries.size() - 1; i >= 0; i--) {
+            if (queries.get(i).getSql().toLowerCase().contains(fragment.toLowerCase())) {
+                return queries.get(i);
+            }
+        }
+        throw new AssertionError("No query containing '" + fragment + "' among " + queries);
+    }
+
+    private Connection connection(Connection connection) {
+        return wrap(Connection.class, connection, (delegate, method, args) -> {
+            Object result = method.invoke(delegate, args);
+            if ("prepareStatement".equals(method.getName())) {
+                return statement((PreparedStatement) result, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement statement(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return wrap(PreparedStatement.class, statement, (delegate, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if ("executeQuery".equals(name) && (args == null || args.length == 0)) {
+                queries.add(new Query(sql, new ArrayList<>(parameters.values())));
+            }
+            return method.invoke(delegate, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object delegate, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(delegate, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    private interface Handler {
+        Object invoke(Object delegate, Method method, Object[] args) throws Exception;
+    }
+
+    /** SQL запроса и значения его параметров по порядку **/
+    public static class Query {
+        private final String sql;
+        private final List<Object> parameters;
+
+        private Query(String sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public Object[] getParameters() {
+            return parameters.toArray();
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+}
@@ -9,8 +9,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInsertDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 
 import java.nio.charset.StandardCharsets;
@@ -59,6 +63,39 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.id", is(bookingDto.getId()), Long.class));
     }
 
+    @Test
+    void addBookings() throws Exception {
+        BookingInsertDto bookingInsertDto = new BookingInsertDto(1L, dateTime.plusHours(1), dateTime.plusHours(2));
+        when(bookingService.addBookings(anyLong(), anyList()))
+                .thenReturn(List.of(BookingBatchResultDto.success(0, bookingDto),
+                        BookingBatchResultDto.failure(1, "The current rental period is busy")));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookingInsertDto, bookingInsertDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].error", is("The current rental period is busy")));
+    }
+
+    @Test
+    void statusBookings() throws Exception {
+        when(bookingService.statusBookings(anyLong(), any(BookingStatusUpdateDto.class)))
+                .thenReturn(List.of(BookingBatchResultDto.success(0, bookingDto)));
+
+        mvc.perform(patch("/bookings/status")
+                        .content(mapper.writeValueAsString(new BookingStatusUpdateDto(List.of(1L), true)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class));
+    }
+
     @Test
     void statusBooking() throws Exception {
         when(bookingService.statusBooking(anyLong(), anyLong(), anyBoolean()))
@@ -114,4 +151,42 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByUserOwnerCursor() throws Exception {
+        when(bookingService.getAllByUserOwner(anyLong(), any(StatusBooking.class), anyString(), anyInt()))
+                .thenReturn(new BookingSliceDto(List.of(bookingDto), "next"));
+
+        mvc.perform(get("/bookings/owner?state=ALL&cursor=&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    void getAllBookingsByUserCursor() throws Exception {
+        when(bookingService.getAllBookingsByUser(anyLong(), any(StatusBooking.class), anyString(), anyInt()))
+                .thenReturn(new BookingSliceDto(List.of(bookingDto), null));
+
+        mvc.perform(get("/bookings?state=ALL&cursor=abc&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(bookingDto.getId()), Long.class));
+    }
+
+    @Test
+    void getOwnerSummary() throws Exception {
+        when(bookingService.getOwnerSummary(anyLong()))
+                .thenReturn(new BookingSummaryDto(6, 1, 2, 1, 1, 1));
+
+        mvc.perform(get("/bookings/owner/summary")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all", is(6)))
+                .andExpect(jsonPath("$.past", is(2)));
+    }
+}
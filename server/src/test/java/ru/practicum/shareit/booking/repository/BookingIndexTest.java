@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.SqlRecorder;
+import ru.practicum.shareit.booking.StatusBooking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+/** Планы запросов, которые BookingRepository отправляет в БД, используют индексы миграции V4 **/
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SqlRecorder.class)
+class BookingIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final PageRequest PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate"));
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @BeforeEach
+    void setUp() {
+        sqlRecorder.clear();
+    }
+
+    @Test
+    void lastBookingsUseItemStatusStartIndex() {
+        bookingRepository.getLastBookings(List.of(1L, 2L), NOW);
+
+        assertThat(explainLast(), containsString("IX_BOOKINGS_ITEM_STATUS_START"));
+    }
+
+    @Test
+    void nextBookingsUseItemStatusStartIndex() {
+        bookingRepository.getNextBookings(List.of(1L, 2L), NOW);
+
+        assertThat(explainLast(), containsString("IX_BOOKINGS_ITEM_STATUS_START"));
+    }
+
+    @Test
+    void bookerFutureUsesBookerStartIndex() {
+        bookingRepository.findAllByBooker_IdAndStartDateIsAfter(PAGE, 1L, NOW);
+
+        String plan = explainLast();
+        assertThat(plan, containsString("IX_BOOKINGS_BOOKER_START"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void bookerCurrentUsesBookerStartIndex() {
+        bookingRepository.getBookingCurrent(PAGE, 1L, NOW);
+
+        assertThat(explainLast(), containsString("IX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void bookerFutureSliceUsesBookerStartIndex() {
+        bookingRepository.getBookerBookingSlice(1L, StatusBooking.FUTURE, NOW, null, null, 10);
+
+        assertThat(explainLast(), containsString("IX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void ownerBookingsUseOwnerIndex() {
+        bookingRepository.findAllByItem_OwnerId(PAGE, 1L);
+
+        assertOwnerPlan(explainLast());
+    }
+
+    @Test
+    void ownerCurrentUsesOwnerIndex() {
+        bookingRepository.getBookingOwnerCurrent(PAGE, 1L, NOW);
+
+        assertOwnerPlan(explainLast());
+    }
+
+    @Test
+    void ownerWaitingUsesOwnerIndex() {
+        bookingRepository.getBookingWaitingByOwner(PAGE, 1L);
+
+        assertOwnerPlan(explainLast());
+    }
+
+    @Test
+    void ownerSliceUsesOwnerIndex() {
+        bookingRepository.getOwnerBookingSlice(1L, StatusBooking.FUTURE, NOW, NOW, 5L, 10);
+
+        assertOwnerPlan(explainLast());
+    }
+
+    @Test
+    void ownerCountsUseOwnerIndex() {
+        bookingRepository.countOwnerBookings(1L, NOW);
+
+        assertOwnerPlan(explainLast());
+    }
+
+    /** Вещи владельца - по индексу, их бронирования - по индексу item_id, без полного просмотра **/
+    private static void assertOwnerPlan(String plan) {
+        assertThat(plan, containsString("IX_ITEMS_OWNER"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    private String explainLast() {
+        SqlRecorder.Query query = sqlRecorder.last("from bookings");
+        return jdbcTemplate.queryForObject("EXPLAIN " + query.getSql(), String.class, query.getParameters());
+    }
+}
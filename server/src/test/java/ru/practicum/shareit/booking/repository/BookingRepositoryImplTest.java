@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Пакетная вставка без транзакции теста - видно, что записалось в БД **/
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingRepositoryImplTest {
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (name_user, email) VALUES ('Batch', 'batch@email.com')");
+        Long bookerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'batch@email.com'", Long.class);
+        jdbcTemplate.update("INSERT INTO items (name_item, description, is_available, owner_id) " +
+                "VALUES ('BatchItem', 'BatchItem', true, ?)", bookerId);
+        Long itemId = jdbcTemplate.queryForObject("SELECT id FROM items WHERE name_item = 'BatchItem'", Long.class);
+        booker = new User(bookerId, "Batch", "batch@email.com");
+        item = new Item(itemId, "BatchItem", "BatchItem", true, bookerId, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id = ?", item.getId());
+        jdbcTemplate.update("DELETE FROM items WHERE id = ?", item.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", booker.getId());
+    }
+
+    @Test
+    void insertAll() {
+        List<Booking> bookings = bookingRepository.insertAll(List.of(booking(item, 0), booking(item, 2)));
+
+        assertThat(bookings.get(0).getId(), notNullValue());
+        assertThat(bookings.get(1).getId(), notNullValue());
+        assertThat(countBookings(), equalTo(2));
+    }
+
+    @Test
+    void insertAllRolledBackOnFailure() {
+        Item missing = new Item(999_999L, "Missing", "Missing", true, booker.getId(), null);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingRepository.insertAll(List.of(booking(item, 0), booking(missing, 2), booking(item, 4))));
+
+        assertThat(countBookings(), equalTo(0));
+    }
+
+    @Test
+    void insertAllRejectsInvalidBatchBeforeDatabase() {
+        Booking reversed = booking(item, 0);
+        reversed.setEndDate(reversed.getStartDate().minusHours(1));
+
+        assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> bookingRepository.insertAll(Arrays.asList(booking(item, 0), null)));
+        assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> bookingRepository.insertAll(List.of(booking(item, 0), reversed)));
+
+        assertThat(countBookings(), equalTo(0));
+    }
+
+    /** Одно условие состояния для обеих сторон: отменённые арендатором - отклонённые только для арендатора **/
+    @Test
+    void rejectedStateByParty() {
+        Booking rejected = booking(item, 0);
+        rejected.setStatus(StatusBooking.REJECTED);
+        Booking canceled = booking(item, 2);
+        canceled.setStatus(StatusBooking.CANCELED);
+        bookingRepository.insertAll(List.of(rejected, canceled));
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(bookingRepository.countOwnerBookings(booker.getId(), now).get(StatusBooking.REJECTED), equalTo(1L));
+        assertThat(bookingRepository.countBookerBookings(booker.getId(), now).get(StatusBooking.REJECTED), equalTo(2L));
+        assertThat(bookingRepository.getOwnerBookingSlice(booker.getId(), StatusBooking.REJECTED, now,
+                null, null, 10).getNumberOfElements(), equalTo(1));
+        assertThat(bookingRepository.getBookerBookingSlice(booker.getId(), StatusBooking.REJECTED, now,
+                null, null, 10).getNumberOfElements(), equalTo(2));
+    }
+
+    private Booking booking(Item item, int hours) {
+        return new Booking(null, START.plusHours(hours), START.plusHours(hours + 1), item, booker,
+                StatusBooking.WAITING);
+    }
+
+    private int countBookings() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM bookings WHERE item_id = ?", Integer.class,
+                item.getId());
+    }
+}
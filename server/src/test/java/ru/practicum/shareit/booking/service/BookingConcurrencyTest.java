@@ -0,0 +1,172 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInsertDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Параллельные создания и подтверждения пересекающихся аренд одной вещи через BookingServiceImpl.
+ * Без транзакции теста - каждая операция фиксируется сама, как в приложении.
+ **/
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@TestPropertySource(properties = {"db.name=test"})
+class BookingConcurrencyTest {
+    private static final int BOOKERS = 16;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MILLIS);
+    private final List<Long> userIds = new ArrayList<>();
+    private Long ownerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.newUser(new UserDto(null, "race-owner@email.com", "owner")).getId();
+        userIds.add(ownerId);
+        for (int i = 0; i < BOOKERS; i++) {
+            userIds.add(userService.newUser(new UserDto(null, "race-booker" + i + "@email.com", "booker" + i)).getId());
+        }
+        itemId = itemService.addItem(ownerId, new ItemDto(null, "raceItem", "raceItem", true)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM item_booking_summary WHERE item_id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM items WHERE id = ?", itemId);
+        for (Long userId : userIds) {
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    /** Каждый арендатор создаёт аренду, пересекающуюся с соседними, и владелец сразу её подтверждает **/
+    @Test
+    void concurrentCreateAndApproveNeverOverlap() throws Exception {
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            Long bookerId = userIds.get(i + 1);
+            LocalDateTime from = start.plusMinutes(30L * i);
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    BookingDto created = bookingService.addBooking(bookerId,
+                            new BookingInsertDto(itemId, from, from.plusMinutes(90)));
+                    bookingService.statusBooking(ownerId, created.getId(), true);
+                } catch (ValidationException e) {
+                    // период уже подтверждён для другой аренды
+                }
+                return null;
+            }));
+        }
+
+        ready.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(itemId))
+                .filter(booking -> booking.getStatus() == StatusBooking.APPROVED)
+                .collect(toList());
+
+        assertThat(approved.size(), greaterThan(0));
+        assertThat(overlapping(approved), empty());
+    }
+
+    /** Владелец параллельно подтверждает заранее созданные пересекающиеся аренды **/
+    @Test
+    void concurrentApprovalsNeverOverlap() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            LocalDateTime from = start.plusMinutes(30L * i);
+            bookingIds.add(bookingService.addBooking(userIds.get(i + 1),
+                    new BookingInsertDto(itemId, from, from.plusMinutes(90))).getId());
+        }
+
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    bookingService.statusBooking(ownerId, bookingId, true);
+                } catch (ValidationException e) {
+                    // период уже подтверждён для другой аренды
+                }
+                return null;
+            }));
+        }
+
+        ready.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Booking> approved = bookingRepository.findAllById(bookingIds).stream()
+                .filter(booking -> booking.getStatus() == StatusBooking.APPROVED)
+                .collect(toList());
+
+        assertThat(approved.size(), greaterThan(0));
+        assertThat(overlapping(approved), empty());
+        assertThat(bookingRepository.findAllById(bookingIds), hasSize(BOOKERS));
+    }
+
+    private static List<String> overlapping(List<Booking> bookings) {
+        List<String> pairs = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            for (int j = i + 1; j < bookings.size(); j++) {
+                Booking first = bookings.get(i);
+                Booking second = bookings.get(j);
+                if (first.getStartDate().isBefore(second.getEndDate())
+                        && second.getStartDate().isBefore(first.getEndDate())) {
+                    pairs.add(first.getId() + "/" + second.getId());
+                }
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    private BookingIntervalIndex index;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final LocalDateTime dateTime = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository, Duration.ofMinutes(1), nanos::get);
+        item = new Item(1L, "item", "description", true, 2L, null);
+        when(bookingRepository.getApprovedIntervals(item.getId()))
+                .thenReturn(List.of(
+                        new BookingInterval(1L, dateTime, dateTime.plusHours(1)),
+                        new BookingInterval(2L, dateTime.plusHours(3), dateTime.plusHours(4))
+                ));
+    }
+
+    @Test
+    void overlaps() {
+        assertTrue(index.overlaps(item.getId(), dateTime.minusMinutes(30), dateTime.plusMinutes(30)));
+        assertTrue(index.overlaps(item.getId(), dateTime.plusMinutes(10), dateTime.plusMinutes(20)));
+        assertTrue(index.overlaps(item.getId(), dateTime.minusHours(1), dateTime.plusHours(5)));
+        assertFalse(index.overlaps(item.getId(), dateTime.plusHours(1), dateTime.plusHours(3)));
+        assertFalse(index.overlaps(item.getId(), dateTime.minusHours(1), dateTime));
+        assertFalse(index.overlaps(item.getId(), dateTime.plusHours(4), dateTime.plusHours(5)));
+
+        verify(bookingRepository, times(1)).getApprovedIntervals(item.getId());
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void addAndRemove() {
+        Booking booking = new Booking(3L, dateTime.plusHours(1), dateTime.plusHours(3), item, null,
+                StatusBooking.APPROVED);
+        assertFalse(index.overlaps(item.getId(), dateTime.plusHours(2), dateTime.plusMinutes(150)));
+
+        index.add(booking);
+        assertTrue(index.overlaps(item.getId(), dateTime.plusHours(2), dateTime.plusMinutes(150)));
+
+        index.remove(booking);
+        assertFalse(index.overlaps(item.getId(), dateTime.plusHours(2), dateTime.plusMinutes(150)));
+
+        index.evict(item.getId());
+        assertFalse(index.overlaps(item.getId(), dateTime.plusHours(2), dateTime.plusMinutes(150)));
+        verify(bookingRepository, times(2)).getApprovedIntervals(item.getId());
+    }
+
+    /** Через ttl после загрузки периоды перечитываются, даже если вещь менялась через add **/
+    @Test
+    void reloadedAfterTtl() {
+        Booking booking = new Booking(3L, dateTime.plusHours(1), dateTime.plusHours(3), item, null,
+                StatusBooking.APPROVED);
+        assertFalse(index.overlaps(item.getId(), dateTime.plusHours(2), dateTime.plusMinutes(150)));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(50));
+        index.add(booking);
+        assertTrue(index.overlaps(item.getId(), dateTime.plusHours(2), dateTime.plusMinutes(150)));
+
+        // аренда 3 отменена на другом экземпляре - в БД её нет
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertFalse(index.overlaps(item.getId(), dateTime.plusHours(2), dateTime.plusMinutes(150)));
+        verify(bookingRepository, times(2)).getApprovedIntervals(item.getId());
+    }
+
+    @Test
+    void nestedIntervals() {
+        // длинная аренда, внутри которой начинается короткая
+        when(bookingRepository.getApprovedIntervals(item.getId()))
+                .thenReturn(List.of(
+                        new BookingInterval(1L, dateTime, dateTime.plusDays(2)),
+                        new BookingInterval(2L, dateTime.plusHours(1), dateTime.plusHours(2))
+                ));
+
+        assertTrue(index.overlaps(item.getId(), dateTime.plusDays(1), dateTime.plusDays(3)));
+    }
+}
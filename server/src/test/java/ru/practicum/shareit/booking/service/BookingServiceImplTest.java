@@ -8,9 +8,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInsertDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -24,11 +29,13 @@ import javax.transaction.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.hasProperty;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest(
@@ -580,4 +587,204 @@ class BookingServiceImplTest {
             )));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByUserOwnerCursor() {
+        // given
+        // Пользователем 1, ещё две аренды вещи 1 у пользователя 2 (одна с тем же началом)
+        bookingService.addBooking(user1.getId(),
+                new BookingInsertDto(item1Owner2.getId(), dateTime.plusMinutes(1), dateTime.plusMinutes(3)));
+        bookingService.addBooking(user1.getId(),
+                new BookingInsertDto(item1Owner2.getId(), dateTime.plusMinutes(5), dateTime.plusMinutes(6)));
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        BookingSliceDto slice = bookingService.getAllByUserOwner(user2.getId(), StatusBooking.ALL, "", 1);
+        slice.getContent().forEach(booking -> ids.add(booking.getId()));
+        while (slice.getNextCursor() != null) {
+            slice = bookingService.getAllByUserOwner(user2.getId(), StatusBooking.ALL, slice.getNextCursor(), 1);
+            slice.getContent().forEach(booking -> ids.add(booking.getId()));
+        }
+
+        // then
+        List<BookingDto> expected = bookingService.getAllByUserOwner(user2.getId(), StatusBooking.ALL, 0, 10);
+        assertThat(ids, hasSize(3));
+        assertThat(ids, containsInAnyOrder(expected.stream().map(BookingDto::getId).toArray()));
+    }
+
+    @Test
+    void getAllBookingsByUserCursorWaiting() {
+        // when
+        BookingSliceDto slice = bookingService.getAllBookingsByUser(user1.getId(), StatusBooking.WAITING, "", 10);
+
+        // then
+        assertThat(slice.getContent(), hasSize(1));
+        assertThat(slice.getContent().get(0).getId(), equalTo(booking1Item1Owner2User1.getId()));
+        assertThat(slice.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void getOwnerSummaryMatchesStateLists() {
+        // given
+        // Пользователем 1: завершённая, текущая и отклонённая аренды вещи 1 у пользователя 2
+        em.persist(new Booking(null, dateTime.minusDays(2), dateTime.minusDays(1),
+                item1Owner2, user1, StatusBooking.APPROVED));
+        em.persist(new Booking(null, dateTime.minusHours(1), dateTime.plusHours(1),
+                item1Owner2, user1, StatusBooking.APPROVED));
+        BookingDto rejected = bookingService.addBooking(user1.getId(),
+                new BookingInsertDto(item1Owner2.getId(), dateTime.plusDays(1), dateTime.plusDays(2)));
+        bookingService.statusBooking(user2.getId(), rejected.getId(), false);
+
+        // when
+        BookingSummaryDto summary = bookingService.getOwnerSummary(user2.getId());
+
+        // then
+        assertThat(summary.getAll(), equalTo(4L));
+        assertThat(summary.getCurrent(), equalTo(1L));
+        assertThat(summary.getPast(), equalTo(1L));
+        assertThat(summary.getFuture(), equalTo(2L));
+        assertThat(summary.getWaiting(), equalTo(1L));
+        assertThat(summary.getRejected(), equalTo(1L));
+        assertThat((long) bookingService.getAllByUserOwner(user2.getId(), StatusBooking.FUTURE, 0, 10).size(),
+                equalTo(summary.getFuture()));
+        assertThat((long) bookingService.getAllByUserOwner(user2.getId(), StatusBooking.REJECTED, 0, 10).size(),
+                equalTo(summary.getRejected()));
+    }
+
+    @Test
+    void getBookerSummaryCountsCanceledAsRejected() {
+        // given
+        bookingService.statusBooking(user1.getId(), booking1Item1Owner2User1.getId(), false);
+
+        // when
+        BookingSummaryDto summary = bookingService.getBookerSummary(user1.getId());
+
+        // then
+        assertThat(summary.getAll(), equalTo(1L));
+        assertThat(summary.getFuture(), equalTo(1L));
+        assertThat(summary.getWaiting(), equalTo(0L));
+        assertThat(summary.getRejected(), equalTo(1L));
+        assertThat(summary.getCurrent(), equalTo(0L));
+        assertThat(summary.getPast(), equalTo(0L));
+    }
+
+    @Test
+    void getOwnerSummaryNoBookings() {
+        // given
+        UserDto userDto = userService.newUser(new UserDto(null, "user3@email.com", "user3"));
+
+        // when
+        BookingSummaryDto summary = bookingService.getOwnerSummary(userDto.getId());
+
+        // then
+        assertThat(summary.getAll(), equalTo(0L));
+        assertThat(summary.getFuture(), equalTo(0L));
+    }
+
+    @Test
+    void getAllBookingsByUserInvalidCursor() {
+        // when
+        final ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> bookingService.getAllBookingsByUser(user1.getId(), StatusBooking.ALL, "bad", 10)
+        );
+
+        // then
+        assertThat(exception.getMessage(), equalTo("Invalid cursor: bad"));
+    }
+
+    @Test
+    void addBookingOverlapsApproved() {
+        // given
+        bookingService.statusBooking(user1.getId(), booking1Item1Owner1User2.getId(), true);
+        BookingInsertDto bookingInsertDto = new BookingInsertDto(item1Owner1.getId(),
+                dateTime.plusSeconds(90), dateTime.plusMinutes(3));
+
+        // when
+        final ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> bookingService.addBooking(user2.getId(), bookingInsertDto)
+        );
+
+        // then
+        assertThat(exception.getMessage(), equalTo("The current rental period is busy"));
+    }
+
+    @Test
+    void addBookings() {
+        // given
+        bookingService.statusBooking(user1.getId(), booking1Item1Owner1User2.getId(), true);
+        List<BookingInsertDto> batch = List.of(
+                new BookingInsertDto(item1Owner1.getId(), dateTime.plusMinutes(10), dateTime.plusMinutes(20)),
+                new BookingInsertDto(item1Owner1.getId(), dateTime.plusMinutes(15), dateTime.plusMinutes(25)),
+                new BookingInsertDto(item1Owner1.getId(), dateTime.plusSeconds(90), dateTime.plusMinutes(3)),
+                new BookingInsertDto(item1Owner2.getId(), dateTime.plusMinutes(10), dateTime.plusMinutes(20)),
+                new BookingInsertDto(999_999L, dateTime.plusMinutes(10), dateTime.plusMinutes(20)),
+                new BookingInsertDto(item1Owner1.getId(), dateTime.minusMinutes(10), dateTime.plusMinutes(20))
+        );
+
+        // when
+        List<BookingBatchResultDto> results = bookingService.addBookings(user2.getId(), batch);
+
+        // then
+        assertThat(results, hasSize(6));
+        assertThat(results.get(0).getBooking().getId(), notNullValue());
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(StatusBooking.WAITING.toString()));
+        assertThat(results.get(1).getError(), equalTo("The current rental period is busy"));
+        assertThat(results.get(2).getError(), equalTo("The current rental period is busy"));
+        assertThat(results.get(3).getError(), equalTo("This thing is yours"));
+        assertThat(results.get(4).getError(), equalTo("Item with id:999999 not found"));
+        assertThat(results.get(5).getError(), equalTo("Invalid rental period"));
+
+        Booking saved = em.createQuery("SELECT b FROM Booking b WHERE b.id=:id", Booking.class)
+                .setParameter("id", results.get(0).getBooking().getId())
+                .getSingleResult();
+        assertThat(saved.getBooker().getId(), equalTo(user2.getId()));
+        assertThat(saved.getItem().getId(), equalTo(item1Owner1.getId()));
+    }
+
+    @Test
+    void statusBookings() {
+        // given
+        // Пользователем 2, ещё две аренды вещи 1 у пользователя 1 - пересекаются с первой
+        BookingDto overlapping = bookingService.addBooking(user2.getId(),
+                new BookingInsertDto(item1Owner1.getId(), dateTime.plusSeconds(90), dateTime.plusMinutes(3)));
+        BookingDto later = bookingService.addBooking(user2.getId(),
+                new BookingInsertDto(item1Owner1.getId(), dateTime.plusMinutes(5), dateTime.plusMinutes(6)));
+        List<Long> ids = List.of(overlapping.getId(), later.getId(), booking1Item1Owner1User2.getId(),
+                booking1Item1Owner2User1.getId());
+
+        // when
+        List<BookingBatchResultDto> results = bookingService.statusBookings(user1.getId(),
+                new BookingStatusUpdateDto(ids, true));
+
+        // then
+        // более раннее бронирование подтверждается, пересекающееся с ним - нет
+        assertThat(results, hasSize(4));
+        assertThat(results.get(0).getError(), equalTo("The current rental period is busy"));
+        assertThat(results.get(1).getBooking().getStatus(), equalTo(StatusBooking.APPROVED.toString()));
+        assertThat(results.get(2).getBooking().getStatus(), equalTo(StatusBooking.APPROVED.toString()));
+        assertThat(results.get(3).getError(), equalTo("Booking with id:" + booking1Item1Owner2User1.getId() + " not found"));
+
+        Booking approved = em.createQuery("SELECT b FROM Booking b WHERE b.id=:id", Booking.class)
+                .setParameter("id", booking1Item1Owner1User2.getId())
+                .getSingleResult();
+        assertThat(approved.getStatus(), equalTo(StatusBooking.APPROVED));
+    }
+
+    @Test
+    void statusBookingsRejected() {
+        // when
+        List<BookingBatchResultDto> results = bookingService.statusBookings(user1.getId(),
+                new BookingStatusUpdateDto(List.of(booking1Item1Owner1User2.getId()), false));
+
+        // then
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(StatusBooking.REJECTED.toString()));
+    }
+
+    @Test
+    void statusBookingsEmpty() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.statusBookings(user1.getId(), new BookingStatusUpdateDto(List.of(), true)));
+    }
+}
@@ -1,19 +1,27 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInsertDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -21,16 +29,22 @@ import ru.practicum.shareit.exception.NullObjectException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -52,6 +66,18 @@ class BookingServiceTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Spy
+    private ItemLockManager itemLockManager = new ItemLockManager(16);
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     private User user;
     private User owner;
     private Item item;
@@ -129,19 +155,11 @@ class BookingServiceTest {
     @Test
     void addBookingItemIsAlreadyRented() {
         // given
-        List<Booking> booking = List.of(new Booking(2L,
-                                                        dateTime.plusMinutes(30),
-                                                        dateTime.plusMinutes(90),
-                                                        item,
-                                                        user,
-                                                        StatusBooking.APPROVED)
-        );
-
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        when(bookingRepository.getBookingByDate(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(booking);
+        when(bookingIntervalIndex.overlaps(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
 
         // when
         final ValidationException exception = assertThrows(
@@ -160,8 +178,8 @@ class BookingServiceTest {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        when(bookingRepository.getBookingByDate(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of());
+        when(bookingIntervalIndex.overlaps(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(false);
 
         // when
         final NullObjectException exception = assertThrows(
@@ -180,8 +198,8 @@ class BookingServiceTest {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        when(bookingRepository.getBookingByDate(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of());
+        when(bookingIntervalIndex.overlaps(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(false);
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
@@ -200,13 +218,89 @@ class BookingServiceTest {
 
         // then
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).getBookingByDate(anyLong(),
+        verify(bookingIntervalIndex, times(1)).overlaps(anyLong(),
                 any(LocalDateTime.class), any(LocalDateTime.class));
         verify(userRepository, times(1)).findById(anyLong());
         verify(bookingMapper, times(1)).toEntity(any(BookingInsertDto.class));
         verify(bookingRepository, times(1)).save(any(Booking.class));
         verify(bookingMapper, times(1)).toDto(any(Booking.class));
-        verifyNoMoreInteractions(itemRepository, bookingRepository, userRepository, bookingMapper);
+        verifyNoMoreInteractions(itemRepository, bookingRepository, userRepository, bookingMapper, bookingIntervalIndex);
+    }
+
+    @Test
+    void addBookingsUserNotFound() {
+        // when
+        final NullObjectException exception = assertThrows(
+                NullObjectException.class,
+                () -> bookingService.addBookings(user.getId(), List.of(bookingInsertDto))
+        );
+
+        // then
+        Assertions.assertEquals("User with id: " + user.getId() + " not found", exception.getMessage());
+    }
+
+    @Test
+    void getBookingSliceNonPositiveSize() {
+        // when
+        final ValidationException ownerException = assertThrows(
+                ValidationException.class,
+                () -> bookingService.getAllByUserOwner(owner.getId(), StatusBooking.ALL, "", 0)
+        );
+        final ValidationException bookerException = assertThrows(
+                ValidationException.class,
+                () -> bookingService.getAllBookingsByUser(user.getId(), StatusBooking.ALL, "", -1)
+        );
+
+        // then
+        Assertions.assertEquals("Size must be positive", ownerException.getMessage());
+        Assertions.assertEquals("Size must be positive", bookerException.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void addBookingsNullEntry() {
+        // when
+        final ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> bookingService.addBookings(user.getId(), Arrays.asList(bookingInsertDto, null))
+        );
+
+        // then
+        Assertions.assertEquals("Booking batch must not contain null", exception.getMessage());
+        verifyNoInteractions(userRepository, itemRepository, bookingRepository);
+    }
+
+    @Test
+    void addBookingsHappy() {
+        // given
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        when(itemRepository.findAllById(anySet()))
+                .thenReturn(List.of(item));
+
+        when(bookingMapper.toEntity(bookingInsertDto))
+                .thenReturn(booking);
+
+        when(bookingRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        when(bookingMapper.toDto(any(Booking.class)))
+                .thenReturn(bookingDtoResult);
+
+        // when
+        List<BookingBatchResultDto> results = bookingService.addBookings(user.getId(),
+                List.of(bookingInsertDto, new BookingInsertDto(555L, dateTime.plusHours(1), dateTime.plusHours(2))));
+
+        // then
+        assertEquals(2, results.size());
+        assertEquals(bookingDtoResult, results.get(0).getBooking());
+        assertEquals("Item with id:555 not found", results.get(1).getError());
+        verify(userRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findAllById(anySet());
+        verify(bookingIntervalIndex, times(1)).overlaps(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).insertAll(anyList());
+        verifyNoMoreInteractions(itemRepository, bookingRepository, userRepository, bookingIntervalIndex);
     }
 
     @Test
@@ -224,6 +318,8 @@ class BookingServiceTest {
     @Test
     void statusBookingCannotBeChanged() {
         // given
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
@@ -241,6 +337,8 @@ class BookingServiceTest {
     void statusBookingNotUserItem() {
         // given
         booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
@@ -258,6 +356,8 @@ class BookingServiceTest {
     void statusBookingOwnerHappy() {
         // given
         booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
@@ -271,16 +371,187 @@ class BookingServiceTest {
         bookingService.statusBooking(booking.getItem().getOwnerId(), booking.getId(), true);
 
         // then
+        verify(bookingRepository, times(1)).getItemIdByBookingId(anyLong());
         verify(bookingRepository, times(1)).findById(anyLong());
         verify(bookingRepository, times(1)).save(any(Booking.class));
         verify(bookingMapper, times(1)).toDto(any(Booking.class));
-        verifyNoMoreInteractions(bookingRepository, bookingMapper);
+        verify(bookingIntervalIndex, times(1)).overlaps(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(bookingIntervalIndex, times(1)).add(any(Booking.class));
+        verifyNoMoreInteractions(bookingRepository, bookingMapper, bookingIntervalIndex);
+    }
+
+    @Test
+    void statusBookingOwnerPeriodBusy() {
+        // given
+        booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        when(bookingIntervalIndex.overlaps(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        // when
+        final ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> bookingService.statusBooking(booking.getItem().getOwnerId(), booking.getId(), true)
+        );
+
+        // then
+        Assertions.assertEquals("The current rental period is busy", exception.getMessage());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void statusBookingOwnerExclusionViolation() {
+        // given
+        booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        when(bookingRepository.save(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        // when
+        final ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> bookingService.statusBooking(booking.getItem().getOwnerId(), booking.getId(), true)
+        );
+
+        // then
+        Assertions.assertEquals("The current rental period is busy", exception.getMessage());
+        verify(bookingIntervalIndex, times(1)).evict(item.getId());
+        verify(bookingIntervalIndex, never()).add(any(Booking.class));
+    }
+
+    @Test
+    void statusBookingsExclusionViolation() {
+        // given
+        booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getOwnerItemIds(anyList(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        when(bookingRepository.getBookingsByIds(anyList()))
+                .thenReturn(List.of(booking));
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("conflicting key value",
+                        new SQLException("conflicting key value"), "ex_bookings_item_period")))
+                .when(bookingRepository).updateStatus(anyList(), any(StatusBooking.class));
+
+        // when
+        final ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> bookingService.statusBookings(owner.getId(),
+                        new BookingStatusUpdateDto(List.of(booking.getId()), true))
+        );
+
+        // then
+        Assertions.assertEquals("The current rental period is busy", exception.getMessage());
+        verify(bookingIntervalIndex, times(1)).evict(item.getId());
+    }
+
+    @Test
+    void statusBookingsOtherIntegrityViolation() {
+        // given
+        booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getOwnerItemIds(anyList(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        when(bookingRepository.getBookingsByIds(anyList()))
+                .thenReturn(List.of(booking));
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("null value in column violates not-null constraint", "23502")))
+                .when(bookingRepository).updateStatus(anyList(), any(StatusBooking.class));
+
+        // when
+        assertThrows(
+                DataIntegrityViolationException.class,
+                () -> bookingService.statusBookings(owner.getId(),
+                        new BookingStatusUpdateDto(List.of(booking.getId()), true))
+        );
+
+        // then
+        verify(bookingIntervalIndex, never()).evict(anyLong());
+    }
+
+    @Test
+    void statusBookingOwnerOtherIntegrityViolation() {
+        // given
+        booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("insert or update violates foreign key constraint", "23503"));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenThrow(violation);
+
+        // when
+        final DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
+                () -> bookingService.statusBooking(booking.getItem().getOwnerId(), booking.getId(), true)
+        );
+
+        // then
+        assertSame(violation, exception);
+        verify(bookingIntervalIndex, never()).evict(anyLong());
+    }
+
+    /** Бронирование читается после блокировки вещи, до неё - только id вещи **/
+    @Test
+    void statusBookingReadUnderLock() {
+        // given
+        booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenReturn(booking);
+
+        // when
+        bookingService.statusBooking(owner.getId(), booking.getId(), true);
+
+        // then
+        InOrder inOrder = inOrder(bookingRepository, itemLockManager);
+        inOrder.verify(bookingRepository).getItemIdByBookingId(booking.getId());
+        inOrder.verify(itemLockManager).withLock(eq(item.getId()), any());
+        inOrder.verify(bookingRepository).findById(booking.getId());
+        inOrder.verify(bookingRepository).save(booking);
+    }
+
+    @Test
+    void statusBookingsReadUnderLock() {
+        // given
+        booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getOwnerItemIds(anyList(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        when(bookingRepository.getBookingsByIds(anyList()))
+                .thenReturn(List.of(booking));
+
+        // when
+        List<BookingBatchResultDto> results = bookingService.statusBookings(owner.getId(),
+                new BookingStatusUpdateDto(List.of(booking.getId()), true));
+
+        // then
+        assertNull(results.get(0).getError());
+        InOrder inOrder = inOrder(bookingRepository, itemLockManager);
+        inOrder.verify(bookingRepository).getOwnerItemIds(List.of(booking.getId()), owner.getId());
+        inOrder.verify(itemLockManager).withLocks(eq(List.of(item.getId())), any());
+        inOrder.verify(bookingRepository).getBookingsByIds(List.of(booking.getId()));
+        inOrder.verify(bookingRepository).updateStatus(List.of(booking.getId()), StatusBooking.APPROVED);
     }
 
     @Test
     void statusBookingBookerHappyRejected() {
         // given
         booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
@@ -294,16 +565,20 @@ class BookingServiceTest {
         bookingService.statusBooking(booking.getItem().getOwnerId(), booking.getId(), false);
 
         // then
+        verify(bookingRepository, times(1)).getItemIdByBookingId(anyLong());
         verify(bookingRepository, times(1)).findById(anyLong());
         verify(bookingRepository, times(1)).save(any(Booking.class));
         verify(bookingMapper, times(1)).toDto(any(Booking.class));
-        verifyNoMoreInteractions(bookingRepository, bookingMapper);
+        verify(bookingIntervalIndex, times(1)).remove(any(Booking.class));
+        verifyNoMoreInteractions(bookingRepository, bookingMapper, bookingIntervalIndex);
     }
 
     @Test
     void statusBookingBookerHappyCanceled() {
         // given
         booking.setStatus(StatusBooking.WAITING);
+        when(bookingRepository.getItemIdByBookingId(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
@@ -317,6 +592,7 @@ class BookingServiceTest {
         bookingService.statusBooking(user.getId(), booking.getId(), false);
 
         // then
+        verify(bookingRepository, times(1)).getItemIdByBookingId(anyLong());
         verify(bookingRepository, times(1)).findById(anyLong());
         verify(bookingRepository, times(1)).save(any(Booking.class));
         verify(bookingMapper, times(1)).toDto(any(Booking.class));
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemLockManagerTest {
+    private static final int WRITERS = 64;
+    private static final int ITEMS = 1_000;
+    private static final int SLOTS = 50;
+    private static final int OPERATIONS = 2_000;
+
+    @Test
+    void stripeCountIsPowerOfTwo() {
+        ItemLockManager manager = new ItemLockManager(100);
+        for (long itemId = 0; itemId < 10_000; itemId++) {
+            int index = manager.stripeIndex(itemId);
+            assertTrue(index >= 0 && index < 128);
+        }
+    }
+
+    @Test
+    void differentStripesDoNotBlockEachOther() throws Exception {
+        ItemLockManager manager = new ItemLockManager(256);
+        long other = 2;
+        while (manager.stripeIndex(other) == manager.stripeIndex(1L)) {
+            other++;
+        }
+        long otherItemId = other;
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> manager.withLock(1L, () -> {
+                inside.countDown();
+                await(release);
+                return null;
+            }));
+            assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+            // вещь 1 заблокирована, но запись в другую вещь проходит
+            assertEquals("done", manager.withLock(otherItemId, () -> "done"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 64 писателя бронируют случайные слоты 1000 вещей по схеме "проверка - запись".
+     * Каждый слот должен быть занят ровно один раз.
+     **/
+    @Test
+    void concurrentWritersNeverDoubleBook() throws Exception {
+        ItemLockManager manager = new ItemLockManager(256);
+        boolean[][] slots = new boolean[ITEMS][SLOTS];
+        AtomicInteger booked = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            writers.add(executor.submit(() -> {
+                await(start);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < OPERATIONS; j++) {
+                    long itemId = random.nextInt(ITEMS);
+                    int slot = random.nextInt(SLOTS);
+                    manager.withLock(itemId, () -> {
+                        if (!slots[(int) itemId][slot]) {
+                            Thread.yield(); // окно гонки между проверкой и записью
+                            slots[(int) itemId][slot] = true;
+                            booked.incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int occupied = 0;
+        for (boolean[] item : slots) {
+            for (boolean slot : item) {
+                occupied += slot ? 1 : 0;
+            }
+        }
+        assertEquals(occupied, booked.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
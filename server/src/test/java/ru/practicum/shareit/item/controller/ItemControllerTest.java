@@ -134,7 +134,7 @@ class ItemControllerTest {
 
     @Test
     void getItemSearch() throws Exception {
-        when(itemService.getItemSearch(any()))
+        when(itemService.getItemSearch(any(), anyInt(), any()))
                 .thenReturn(List.of(itemDto));
 
         mvc.perform(get("/items/search?text=script")
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.SqlRecorder;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+/** Планы запросов, которые ItemRepository и CommentRepository отправляют в БД, используют индексы миграции V4 **/
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SqlRecorder.class)
+class ItemIndexTest {
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @BeforeEach
+    void setUp() {
+        sqlRecorder.clear();
+    }
+
+    @Test
+    void ownerItemsUseOwnerIndex() {
+        itemRepository.findAllByOwnerId(1L);
+
+        assertThat(explainLast("from items"), containsString("IX_ITEMS_OWNER"));
+    }
+
+    @Test
+    void requestItemsUseRequestIndex() {
+        itemRepository.findAllByRequestIdIn(List.of(1L, 2L));
+
+        assertThat(explainLast("from items"), containsString("IX_ITEMS_REQUEST"));
+    }
+
+    @Test
+    void itemCommentsUseIndex() {
+        commentRepository.getCommentsByItemIds(List.of(1L, 2L));
+
+        // H2 создаёт индекс для внешнего ключа сам и может выбрать его, PostgreSQL - нет
+        assertThat(indexExists("IX_COMMENTS_ITEM"), equalTo(true));
+        assertThat(explainLast("from comments"), not(containsString("tableScan")));
+    }
+
+    private boolean indexExists(String name) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM information_schema.indexes WHERE index_name = ?",
+                Integer.class, name) > 0;
+    }
+
+    private String explainLast(String fragment) {
+        SqlRecorder.Query query = sqlRecorder.last(fragment);
+        return jdbcTemplate.queryForObject("EXPLAIN " + query.getSql(), String.class, query.getParameters());
+    }
+}
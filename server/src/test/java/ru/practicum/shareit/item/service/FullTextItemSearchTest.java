@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+/** В профиле test (H2) полнотекстовый режим выполняет поиск подстроки **/
+@Transactional
+@SpringBootTest(
+        properties = {"db.name=test", "shareit.item.search.mode=fulltext"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class FullTextItemSearchTest {
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemRepository itemRepository;
+
+    @Test
+    void searchFallsBackToLike() {
+        // given
+        Item drill = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, 1L, null));
+        itemRepository.save(new Item(null, "Дрель", "Сломанная дрель", false, 1L, null));
+        Item cordless = itemRepository.save(new Item(null, "Отвертка", "Аккумуляторная дрель-отвертка", true, 1L, null));
+
+        // when
+        List<Item> all = itemSearchEngine.search("дрел", Pageable.unpaged());
+        List<Item> second = itemSearchEngine.search("дрел", PageRequest.of(1, 1));
+
+        // then
+        assertThat(itemSearchEngine, instanceOf(FullTextItemSearch.class));
+        assertThat(all, contains(hasProperty("id", equalTo(drill.getId())),
+                hasProperty("id", equalTo(cordless.getId()))));
+        assertThat(second, contains(hasProperty("id", equalTo(cordless.getId()))));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ItemSearchCacheTest {
+    private MutableClock clock;
+    private ItemSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2022-10-01T10:00:00Z"));
+        cache = new ItemSearchCache(2, Duration.ofSeconds(60), clock);
+    }
+
+    @Test
+    void getNormalizedQuery() {
+        cache.put("  Дрель  Ударная ", 10, List.of(1L, 2L), cache.version());
+
+        assertThat(cache.get("дрель ударная", 10), contains(1L, 2L));
+        assertNull(cache.get("дрель ударная", 20));
+    }
+
+    @Test
+    void getExpired() {
+        cache.put("дрель", 10, List.of(1L), cache.version());
+        clock.instant = clock.instant.plusSeconds(60);
+
+        assertNull(cache.get("дрель", 10));
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void putEvictsLeastRecentlyUsed() {
+        cache.put("дрель", 10, List.of(1L), cache.version());
+        cache.put("пила", 10, List.of(2L), cache.version());
+        cache.get("дрель", 10);
+        cache.put("отвертка", 10, List.of(3L), cache.version());
+
+        assertThat(cache.get("дрель", 10), contains(1L));
+        assertNull(cache.get("пила", 10));
+    }
+
+    @Test
+    void evictMatchingQueries() {
+        cache.put("дрель", 10, List.of(1L), cache.version());
+        cache.put("пила", 10, List.of(2L), cache.version());
+
+        cache.evict("Дрель", "Аккумуляторная дрель");
+
+        assertNull(cache.get("дрель", 10));
+        assertThat(cache.get("пила", 10), contains(2L));
+    }
+
+    @Test
+    void putAfterEvictIgnored() {
+        long version = cache.version();
+        cache.evict("Пила", "Ножовка");
+
+        cache.put("пила", 10, List.of(2L), version);
+
+        assertNull(cache.get("пила", 10));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
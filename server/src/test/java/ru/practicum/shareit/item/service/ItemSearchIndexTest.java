@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @InjectMocks
+    private ItemSearchIndex index;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private EntityManager em;
+
+    private Item drill;
+    private Item screwdriver;
+
+    @BeforeEach
+    void setUp() {
+        drill = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
+        screwdriver = new Item(2L, "Отвертка", "Аккумуляторная отвертка", true, 1L, null);
+        index.index(drill);
+        index.index(screwdriver);
+    }
+
+    @Test
+    void searchIgnoresCase() {
+        assertThat(index.search("дРелЬ", Pageable.unpaged()), contains(hasId(drill)));
+    }
+
+    @Test
+    void searchByPrefix() {
+        assertThat(index.search("аккум", Pageable.unpaged()), contains(hasId(screwdriver)));
+        assertThat(index.search("пила", Pageable.unpaged()), empty());
+    }
+
+    @Test
+    void searchBySubstring() {
+        assertThat(index.search("рель", Pageable.unpaged()), contains(hasId(drill)));
+        assertThat(index.search("ЕЛЬ", Pageable.unpaged()), contains(hasId(drill)));
+        assertThat(index.search("мулятор", Pageable.unpaged()), contains(hasId(screwdriver)));
+        assertThat(index.search("вер рель", Pageable.unpaged()), empty());
+    }
+
+    @Test
+    void updateRemovesSubstrings() {
+        index.index(new Item(1L, "Пила", "Ножовка", true, 1L, null));
+
+        assertThat(index.search("рель", Pageable.unpaged()), empty());
+        assertThat(index.search("жов", Pageable.unpaged()), contains(hasId(drill)));
+    }
+
+    @Test
+    void searchAllTermsRequired() {
+        index.index(new Item(3L, "Дрель", "Аккумуляторная дрель", true, 1L, null));
+
+        assertThat(index.search("аккумуляторная дрель", Pageable.unpaged()), contains(hasId(3L)));
+        assertThat(index.search("дрель", Pageable.unpaged()), contains(hasId(drill), hasId(3L)));
+        assertThat(index.search("дрель пила", Pageable.unpaged()), empty());
+    }
+
+    @Test
+    void updateReplacesTokens() {
+        index.index(new Item(1L, "Пила", "Ножовка", true, 1L, null));
+
+        assertThat(index.search("дрель", Pageable.unpaged()), empty());
+        assertThat(index.search("пила", Pageable.unpaged()), contains(hasId(drill)));
+    }
+
+    @Test
+    void unavailableItemRemoved() {
+        index.index(new Item(1L, "Дрель", "Простая дрель", false, 1L, null));
+
+        assertThat(index.search("дрель", Pageable.unpaged()), empty());
+    }
+
+    @Test
+    void searchPage() {
+        index.index(new Item(3L, "Дрель", "Аккумуляторная дрель", true, 1L, null));
+        index.index(new Item(4L, "Дрель", "Ударная дрель", true, 1L, null));
+
+        assertThat(index.search("дрель", PageRequest.of(0, 2)), contains(hasId(drill), hasId(3L)));
+        assertThat(index.search("дрель", PageRequest.of(1, 2)), contains(hasId(4L)));
+    }
+
+    @Test
+    void searchRankedByRelevance() {
+        index.index(new Item(3L, "Кейс", "Кейс для дрель", true, 1L, null));
+        index.index(new Item(4L, "Дрелька", "Детская игрушка", true, 1L, null));
+
+        // слово названия, префикс слова названия, слово описания
+        assertThat(index.search("дрель", Pageable.unpaged()), contains(hasId(drill), hasId(4L), hasId(3L)));
+        assertThat(index.search("дрель", PageRequest.of(0, 2)), contains(hasId(drill), hasId(4L)));
+    }
+
+    @Test
+    void searchBlank() {
+        assertThat(index.search(" ,. ", Pageable.unpaged()), empty());
+    }
+
+    @Test
+    void rebuild() {
+        when(itemRepository.streamAllByAvailableTrue())
+                .thenReturn(Stream.of(new Item(5L, "Лестница", "Стремянка", true, 1L, null)));
+
+        index.rebuild();
+
+        assertThat(index.search("дрель", Pageable.unpaged()), empty());
+        assertThat(index.search("стрем", Pageable.unpaged()), contains(hasId(5L)));
+        verify(em, times(1)).detach(any());
+    }
+
+    private static org.hamcrest.Matcher<Item> hasId(Item item) {
+        return hasId(item.getId());
+    }
+
+    private static org.hamcrest.Matcher<Item> hasId(Long id) {
+        return org.hamcrest.Matchers.hasProperty("id", org.hamcrest.Matchers.equalTo(id));
+    }
+}
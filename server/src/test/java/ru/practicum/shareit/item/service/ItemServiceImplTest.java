@@ -4,11 +4,21 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInsertDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -17,8 +27,14 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +48,9 @@ class ItemServiceImplTest {
     private final EntityManager em;
     private final ItemService itemService;
     private final UserService userService;
+    private final BookingService bookingService;
+    private final CacheManager cacheManager;
+    private final ItemRepository itemRepository;
 
     private User user;
     private Item item;
@@ -88,6 +107,54 @@ class ItemServiceImplTest {
         assertThat(itemDtoTest.getAvailable(), equalTo(itemTest.getAvailable()));
     }
 
+    @Test
+    void deleteItemEvictsCache() {
+        // given
+        itemDto = itemService.addItem(user.getId(), itemDto);
+        itemService.getByItemId(user.getId(), itemDto.getId());
+        em.createQuery("DELETE FROM ItemBookingSummary s WHERE s.itemId = :id")
+                .setParameter("id", itemDto.getId())
+                .executeUpdate();
+
+        // when
+        itemRepository.deleteById(itemDto.getId());
+
+        // then
+        assertNull(cacheManager.getCache(ItemRepository.ITEMS_CACHE).get(itemDto.getId()));
+    }
+
+    /** Кэш выдаёт копии: изменение полученной вещи не видно следующему вызывающему **/
+    @Test
+    void cachedItemIsCopy() {
+        // given
+        itemDto = itemService.addItem(user.getId(), itemDto);
+        Item first = itemRepository.findById(itemDto.getId()).orElseThrow();
+
+        // when
+        first.setAvailable(false);
+        Item second = itemRepository.findById(itemDto.getId()).orElseThrow();
+
+        // then
+        assertNotSame(first, second);
+        assertThat(second.getAvailable(), equalTo(true));
+    }
+
+    @Test
+    void updateItemEvictsCache() {
+        // given
+        itemDto = itemService.addItem(user.getId(), itemDto);
+        itemService.getByItemId(user.getId(), itemDto.getId());
+        assertThat(cacheManager.getCache(ItemRepository.ITEMS_CACHE).get(itemDto.getId()), notNullValue());
+        itemDto.setAvailable(false);
+
+        // when
+        itemService.updateItem(user.getId(), itemDto);
+
+        // then
+        assertNull(cacheManager.getCache(ItemRepository.ITEMS_CACHE).get(itemDto.getId()));
+        assertThat(itemService.getByItemId(user.getId(), itemDto.getId()).getAvailable(), equalTo(false));
+    }
+
     @Test
     void getByItemId() {
         //given
@@ -107,4 +174,154 @@ class ItemServiceImplTest {
         assertThat(itemDtoTest.getDescription(), equalTo(itemTest.getDescription()));
         assertThat(itemDtoTest.getAvailable(), equalTo(itemTest.getAvailable()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByItemIdBookingSummary() {
+        // given
+        itemDto = itemService.addItem(user.getId(), itemDto);
+        UserDto booker = userService.newUser(new UserDto(null, "Booker", "booker@email.com"));
+        BookingDto booking = bookingService.addBooking(booker.getId(), new BookingInsertDto(itemDto.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+
+        // when
+        ItemDto waiting = itemService.getByItemId(user.getId(), itemDto.getId());
+        bookingService.statusBooking(user.getId(), booking.getId(), true);
+        ItemDto approved = itemService.getByItemId(user.getId(), itemDto.getId());
+
+        // then
+        assertNull(waiting.getNextBooking());
+        assertThat(approved.getNextBooking().getId(), equalTo(booking.getId()));
+        assertThat(approved.getNextBooking().getBookerId(), equalTo(booker.getId()));
+        assertNull(approved.getLastBooking());
+    }
+
+    @Test
+    void getByItemIdBookingSummaryRefreshAfterStart() {
+        // given
+        itemDto = itemService.addItem(user.getId(), itemDto);
+        UserDto booker = userService.newUser(new UserDto(null, "Booker", "booker@email.com"));
+        BookingDto booking = bookingService.addBooking(booker.getId(), new BookingInsertDto(itemDto.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        bookingService.statusBooking(user.getId(), booking.getId(), true);
+
+        // бронирование началось - проекция устарела
+        Booking started = em.find(Booking.class, booking.getId());
+        started.setStartDate(LocalDateTime.now().minusHours(1));
+        em.find(ItemBookingSummary.class, itemDto.getId()).setValidUntil(LocalDateTime.now().minusHours(1));
+        em.flush();
+
+        // when
+        ItemDto itemDtoTest = itemService.getByItemId(user.getId(), itemDto.getId());
+
+        // then
+        assertThat(itemDtoTest.getLastBooking().getId(), equalTo(booking.getId()));
+        assertNull(itemDtoTest.getNextBooking());
+        assertNull(em.find(ItemBookingSummary.class, itemDto.getId()).getValidUntil());
+    }
+
+    @Test
+    void getByUserIdItemAllQueryCountDoesNotDependOnItems() {
+        // given
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        UserDto booker = userService.newUser(new UserDto(null, "Booker", "booker@email.com"));
+        UserDto owner = userService.newUser(new UserDto(null, "Owner", "owner@email.com"));
+        itemService.addItem(user.getId(), itemDto);
+        for (int i = 0; i < 10; i++) {
+            ItemDto ownerItem = itemService.addItem(owner.getId(),
+                    new ItemDto(null, "item" + i, "itemDescription" + i, true));
+            Booking booking = new Booking(null, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                    em.find(Item.class, ownerItem.getId()), em.find(User.class, booker.getId()),
+                    StatusBooking.WAITING);
+            em.persist(booking);
+            em.flush();
+            bookingService.statusBooking(owner.getId(), booking.getId(), true);
+        }
+        em.flush();
+
+        // when
+        statistics.clear();
+        itemService.getByUserIdItemAll(user.getId());
+        long oneItemQueries = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ItemDto> items = itemService.getByUserIdItemAll(owner.getId());
+        long manyItemsQueries = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        // then
+        assertThat(items, hasSize(10));
+        assertThat(items.get(0).getLastBooking(), notNullValue());
+        assertThat(oneItemQueries, greaterThan(0L));
+        assertEquals(oneItemQueries, manyItemsQueries);
+    }
+
+    @Test
+    void getByUserIdItemAllRefreshesStaleSummariesWithFixedQueries() {
+        // given
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        UserDto booker = userService.newUser(new UserDto(null, "Booker", "booker@email.com"));
+        UserDto fewOwner = userService.newUser(new UserDto(null, "FewOwner", "few@email.com"));
+        UserDto manyOwner = userService.newUser(new UserDto(null, "ManyOwner", "many@email.com"));
+        List<Long> fewItems = addBookedItems(fewOwner.getId(), booker.getId(), 2);
+        List<Long> manyItems = addBookedItems(manyOwner.getId(), booker.getId(), 10);
+
+        // половина проекций отсутствует, у остальных следующее бронирование уже началось
+        makeStale(fewItems);
+        makeStale(manyItems);
+
+        // when
+        statistics.clear();
+        itemService.getByUserIdItemAll(fewOwner.getId());
+        em.flush();
+        long fewItemsQueries = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ItemDto> items = itemService.getByUserIdItemAll(manyOwner.getId());
+        em.flush();
+        long manyItemsQueries = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        // then
+        assertThat(items, hasSize(10));
+        assertThat(items.get(0).getLastBooking(), notNullValue());
+        assertThat(items.get(0).getNextBooking(), notNullValue());
+        assertThat(em.find(ItemBookingSummary.class, manyItems.get(0)).getNextBookingId(), notNullValue());
+        assertThat(fewItemsQueries, greaterThan(0L));
+        assertEquals(fewItemsQueries, manyItemsQueries);
+    }
+
+    /** Вещи владельца с подтверждёнными прошедшим и будущим бронированиями **/
+    private List<Long> addBookedItems(Long ownerId, Long bookerId, int count) {
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ItemDto ownerItem = itemService.addItem(ownerId, new ItemDto(null, "item" + i, "itemDescription" + i, true));
+            for (int days : new int[]{-2, 2}) {
+                Booking booking = new Booking(null, LocalDateTime.now().plusDays(days),
+                        LocalDateTime.now().plusDays(days + 1), em.find(Item.class, ownerItem.getId()),
+                        em.find(User.class, bookerId), StatusBooking.WAITING);
+                em.persist(booking);
+                em.flush();
+                bookingService.statusBooking(ownerId, booking.getId(), true);
+            }
+            itemIds.add(ownerItem.getId());
+        }
+        em.flush();
+        return itemIds;
+    }
+
+    private void makeStale(List<Long> itemIds) {
+        int half = itemIds.size() / 2;
+        em.createQuery("delete from ItemBookingSummary s where s.itemId in :itemIds")
+                .setParameter("itemIds", itemIds.subList(0, half))
+                .executeUpdate();
+        em.createQuery("update ItemBookingSummary s set s.validUntil = :dateTime where s.itemId in :itemIds")
+                .setParameter("dateTime", LocalDateTime.now().minusMinutes(1))
+                .setParameter("itemIds", itemIds.subList(half, itemIds.size()))
+                .executeUpdate();
+        em.clear();
+    }
+}
@@ -9,6 +9,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.StatusBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -18,6 +20,7 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -25,14 +28,18 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -54,6 +61,15 @@ class ItemServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemSearchCache itemSearchCache;
+
     private User user;
     private Item item;
     private ItemDto itemDto;
@@ -79,6 +95,8 @@ class ItemServiceTest {
         //then
         verify(userRepository, times(1)).findById(user.getId());
         verify(itemRepository, times(1)).save(any());
+        verify(itemBookingSummaryService, times(1)).create(item.getId());
+        verify(itemSearchEngine, times(1)).index(item);
         verifyNoMoreInteractions(userRepository, itemRepository);
     }
 
@@ -189,19 +207,31 @@ class ItemServiceTest {
     @Test
     void getByItemIdOwnerId() {
         // given
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId());
+        summary.setLastBookingId(5L);
+        summary.setLastBookerId(3L);
+        summary.setLastStart(LocalDateTime.now().minusDays(2));
+        summary.setLastEnd(LocalDateTime.now().minusDays(1));
+
         when(commentRepository.findAllByItem_Id(item.getId()))
                 .thenReturn(null);
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
+        when(itemBookingSummaryService.getSummary(item.getId()))
+                .thenReturn(summary);
 
         // when
         ItemDto itemTest = itemService.getByItemId(user.getId(), item.getId());
 
         // then
         assertThat(itemTest.getId(), notNullValue());
+        assertEquals(5L, itemTest.getLastBooking().getId());
+        assertEquals(3L, itemTest.getLastBooking().getBookerId());
+        assertNull(itemTest.getNextBooking());
         verify(commentRepository, times(1)).findAllByItem_Id(any());
         verify(itemRepository, times(1)).findById(any());
-        verifyNoMoreInteractions(commentRepository, itemRepository);
+        verify(itemBookingSummaryService, times(1)).getSummary(item.getId());
+        verifyNoMoreInteractions(commentRepository, itemRepository, bookingRepository);
     }
 
     @Test
@@ -229,29 +259,65 @@ class ItemServiceTest {
 
         List<Item> items = List.of(item1, item2, item3);
 
-        List<Booking> bookings = List.of(
-                new Booking(1L, LocalDateTime.now().plusMinutes(3),LocalDateTime.now().plusMinutes(4),
-                        item1, user, StatusBooking.WAITING),
-                new Booking(2L, null, null,
-                        item2, user, StatusBooking.WAITING),
-                new Booking(3L, LocalDateTime.now().plusMinutes(5), LocalDateTime.now().plusMinutes(6),
-                        item3, user, StatusBooking.WAITING)
-        );
+        ItemBookingSummary summary1 = new ItemBookingSummary(item1.getId());
+        summary1.setNextBookingId(1L);
+        summary1.setNextBookerId(user.getId());
+        summary1.setNextStart(LocalDateTime.now().plusMinutes(7));
+        summary1.setNextEnd(LocalDateTime.now().plusMinutes(8));
+
+        ItemBookingSummary summary3 = new ItemBookingSummary(item3.getId());
+        summary3.setNextBookingId(3L);
+        summary3.setNextBookerId(user.getId());
+        summary3.setNextStart(LocalDateTime.now().plusMinutes(5));
+        summary3.setNextEnd(LocalDateTime.now().plusMinutes(6));
 
         when(itemRepository.findAllByOwnerId(anyLong()))
                 .thenReturn(items);
-        when(bookingRepository.getLastBooking(anyLong(), any(LocalDateTime.class)))
-                .thenReturn(bookings);
-        when(bookingRepository.getNextBooking(anyLong()))
-                .thenReturn(Optional.of(bookings.get(2)));
+        when(itemBookingSummaryService.getSummaries(anyList()))
+                .thenReturn(Map.of(item1.getId(), summary1,
+                        item2.getId(), new ItemBookingSummary(item2.getId()),
+                        item3.getId(), summary3));
+        when(commentRepository.getCommentsByItemIds(anyList()))
+                .thenReturn(List.of(new Comment(1L, "text", item1, user, Instant.now())));
 
         // when
         List<ItemDto> itemsTest = itemService.getByUserIdItemAll(user.getId());
 
         // then
         assertThat(itemsTest, hasSize(3));
+        assertEquals(item3.getId(), itemsTest.get(0).getId());
+        assertEquals(item1.getId(), itemsTest.get(1).getId());
+        assertThat(itemsTest.get(0).getNextBooking(), notNullValue());
+        assertNull(itemsTest.get(2).getNextBooking());
         verify(itemRepository, times(1)).findAllByOwnerId(any());
-        verifyNoMoreInteractions(itemRepository);
+        verify(itemBookingSummaryService, times(1)).getSummaries(anyList());
+        verify(commentRepository, times(1)).getCommentsByItemIds(anyList());
+        verifyNoMoreInteractions(itemRepository, bookingRepository, commentRepository);
+    }
+
+    @Test
+    void nextBookingOrderWithoutBookings() {
+        //given
+        List<ItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ItemDto itemDto = makeItemDto("item" + i, "description" + i);
+            if (i % 3 == 0) {
+                ItemDto.Booking next = new ItemDto.Booking();
+                next.setStart(LocalDateTime.now().plusMinutes(100 - i));
+                itemDto.setNextBooking(next);
+            }
+            items.add(itemDto);
+        }
+
+        // when
+        items.sort(ItemServiceImpl.NEXT_BOOKING_ORDER);
+
+        // then
+        for (int i = 0; i < 34; i++) {
+            assertThat(items.get(i).getNextBooking(), notNullValue());
+        }
+        assertTrue(items.get(0).getNextBooking().getStart().isBefore(items.get(33).getNextBooking().getStart()));
+        assertNull(items.get(34).getNextBooking());
     }
 
     @Test
@@ -260,7 +326,7 @@ class ItemServiceTest {
         String search = "";
 
         // when
-        List<ItemDto> itemDtoList = itemService.getItemSearch(search);
+        List<ItemDto> itemDtoList = itemService.getItemSearch(search, 0, null);
 
         // then
         assertTrue(itemDtoList.isEmpty());
@@ -271,18 +337,88 @@ class ItemServiceTest {
         //given
         String search = "item";
 
-        when(itemRepository.getItemByName("%" + search + "%"))
+        when(itemSearchEngine.search(search, PageRequest.of(0, ItemServiceImpl.MAX_SEARCH_RESULTS)))
                 .thenReturn(List.of(item));
         // when
-        List<ItemDto> itemDtoList = itemService.getItemSearch(search);
+        List<ItemDto> itemDtoList = itemService.getItemSearch(search, 0, null);
 
         // then
         assertFalse(itemDtoList.isEmpty());
         assertThat(itemDtoList, hasSize(1));
-        verify(itemRepository, times(1)).getItemByName(any());
+        verify(itemSearchEngine, times(1)).search(search, PageRequest.of(0, ItemServiceImpl.MAX_SEARCH_RESULTS));
         verifyNoMoreInteractions(itemRepository);
     }
 
+    @Test
+    void getItemSearchPage() {
+        //given
+        when(itemSearchEngine.search("item", PageRequest.of(1, 5)))
+                .thenReturn(List.of(item));
+
+        // when
+        List<ItemDto> itemDtoList = itemService.getItemSearch("item", 1, 5);
+
+        // then
+        assertThat(itemDtoList, hasSize(1));
+        verify(itemSearchEngine, times(1)).search("item", PageRequest.of(1, 5));
+    }
+
+    @Test
+    void getItemSearchFirstPageCached() {
+        //given
+        when(itemSearchEngine.cacheable()).thenReturn(true);
+        when(itemSearchCache.get("item", 5)).thenReturn(List.of(item.getId()));
+        when(itemRepository.findAllById(List.of(item.getId()))).thenReturn(List.of(item));
+
+        // when
+        List<ItemDto> itemDtoList = itemService.getItemSearch("item", 0, 5);
+
+        // then
+        assertThat(itemDtoList, hasSize(1));
+        assertThat(itemDtoList.get(0).getId(), equalTo(item.getId()));
+        verify(itemSearchEngine, never()).search(any(), any());
+    }
+
+    @Test
+    void getItemSearchFirstPageNotCached() {
+        //given
+        when(itemSearchEngine.cacheable()).thenReturn(true);
+        when(itemSearchCache.get("item", 5)).thenReturn(null);
+        when(itemSearchCache.version()).thenReturn(7L);
+        when(itemSearchEngine.search("item", PageRequest.of(0, 5)))
+                .thenReturn(List.of(item));
+
+        // when
+        List<ItemDto> itemDtoList = itemService.getItemSearch("item", 0, 5);
+
+        // then
+        assertThat(itemDtoList, hasSize(1));
+        verify(itemSearchCache, times(1)).put("item", 5, List.of(item.getId()), 7L);
+    }
+
+    /** Вещь из кэшированной страницы стала недоступной - страница перечитывается и кэшируется заново **/
+    @Test
+    void getItemSearchFirstPageCachedRefilled() {
+        //given
+        Item unavailable = new Item(item.getId() + 1, "item2", "item2", false, item.getOwnerId(), null);
+        Item next = new Item(item.getId() + 2, "item3", "item3", true, item.getOwnerId(), null);
+        when(itemSearchEngine.cacheable()).thenReturn(true);
+        when(itemSearchCache.get("item", 2)).thenReturn(List.of(item.getId(), unavailable.getId()));
+        when(itemRepository.findAllById(List.of(item.getId(), unavailable.getId())))
+                .thenReturn(List.of(item, unavailable));
+        when(itemSearchCache.version()).thenReturn(3L);
+        when(itemSearchEngine.search("item", PageRequest.of(0, 2)))
+                .thenReturn(List.of(item, next));
+
+        // when
+        List<ItemDto> itemDtoList = itemService.getItemSearch("item", 0, 2);
+
+        // then
+        assertThat(itemDtoList, hasSize(2));
+        assertThat(itemDtoList.get(1).getId(), equalTo(next.getId()));
+        verify(itemSearchCache, times(1)).put("item", 2, List.of(item.getId(), next.getId()), 3L);
+    }
+
     @Test
     void addCommentUserIdBookingNull() {
         //given
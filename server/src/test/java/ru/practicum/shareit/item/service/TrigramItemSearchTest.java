@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Transactional
+@SpringBootTest(
+        properties = {"db.name=test", "shareit.item.search.mode=trigram"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class TrigramItemSearchTest {
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemRepository itemRepository;
+
+    @Test
+    void searchSubstring() {
+        // given
+        Item drill = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, 1L, null));
+        itemRepository.save(new Item(null, "Дрель", "Сломанная дрель", false, 1L, null));
+        Item toolbox = itemRepository.save(new Item(null, "Toolbox", "Ящик", true, 1L, null));
+        Item cordless = itemRepository.save(new Item(null, "Отвертка", "Аккумуляторная ДРЕЛЬ", true, 1L, null));
+
+        // when
+        List<Item> drills = itemSearchEngine.search("дРЕл", Pageable.unpaged());
+        List<Item> tools = itemSearchEngine.search("tool", Pageable.unpaged());
+        List<Item> page = itemSearchEngine.search("дрел", PageRequest.of(1, 1));
+
+        // then
+        assertThat(itemSearchEngine, instanceOf(TrigramItemSearch.class));
+        assertThat(drills, contains(hasProperty("id", equalTo(drill.getId())),
+                hasProperty("id", equalTo(cordless.getId()))));
+        assertThat(tools, contains(hasProperty("id", equalTo(toolbox.getId()))));
+        assertThat(page, contains(hasProperty("id", equalTo(cordless.getId()))));
+    }
+
+    @Test
+    void searchEscapesPattern() {
+        // given
+        Item discount = itemRepository.save(new Item(null, "Скидка 50%", "Палатка", true, 1L, null));
+        itemRepository.save(new Item(null, "Скидка 500", "Палатка", true, 1L, null));
+
+        // when
+        List<Item> items = itemSearchEngine.search("50%", Pageable.unpaged());
+
+        // then
+        assertThat(TrigramItemSearch.toPattern("a_b%"), equalTo("%a\\_b\\%%"));
+        assertThat(items, contains(hasProperty("id", equalTo(discount.getId()))));
+    }
+}
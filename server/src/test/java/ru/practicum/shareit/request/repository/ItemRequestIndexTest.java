@@ -0,0 +1,52 @@
+package ru.practicum.shareit.request.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.SqlRecorder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+/** Планы запросов, которые ItemRequestRepository отправляет в БД, используют индексы миграции V4 **/
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SqlRecorder.class)
+class ItemRequestIndexTest {
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @BeforeEach
+    void setUp() {
+        sqlRecorder.clear();
+    }
+
+    @Test
+    void requesterRequestsUseIndex() {
+        itemRequestRepository.findAllByRequesterId_Id(1L);
+
+        // H2 создаёт индекс для внешнего ключа сам и может выбрать его, PostgreSQL - нет
+        assertThat(indexExists("IX_REQUESTS_REQUESTER_CREATED"), equalTo(true));
+        assertThat(explainLast(), not(containsString("tableScan")));
+    }
+
+    private boolean indexExists(String name) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM information_schema.indexes WHERE index_name = ?",
+                Integer.class, name) > 0;
+    }
+
+    private String explainLast() {
+        SqlRecorder.Query query = sqlRecorder.last("from requests");
+        return jdbcTemplate.queryForObject("EXPLAIN " + query.getSql(), String.class, query.getParameters());
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.request.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ItemRequestRepositoryTest {
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Запросы других пользователей отбираются по автору, а не по id запроса **/
+    @Test
+    void verifyGetAllByRequesterUsersFiltersByRequester() {
+        // given: id запроса другого пользователя совпадает с id текущего
+        jdbcTemplate.update("INSERT INTO users (id, name_user, email) VALUES (101, 'user101', 'user101@mail.com')");
+        jdbcTemplate.update("INSERT INTO users (id, name_user, email) VALUES (102, 'user102', 'user102@mail.com')");
+        jdbcTemplate.update("INSERT INTO requests (id, description, requester_id) VALUES (101, 'чужой', 102)");
+        jdbcTemplate.update("INSERT INTO requests (id, description, requester_id) VALUES (102, 'свой', 101)");
+
+        // when
+        Page<ItemRequest> requests = itemRequestRepository.getAllByRequesterUsers(PageRequest.of(0, 10), 101L);
+
+        // then
+        assertThat(requests.getContent().stream().map(ItemRequest::getId).collect(toList()), contains(101L));
+        assertThat(requests.getTotalElements(), equalTo(1L));
+    }
+}
@@ -4,9 +4,12 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -129,4 +132,44 @@ class ItemRequestServiceImplTest {
         assertThat(itemRequestsDtoTest.getDescription(), equalTo(itemRequest.getDescription()));
         assertThat(itemRequestsDtoTest.getCreated(), equalTo(itemRequest.getCreated()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRequestsQueryCountDoesNotDependOnRequests() {
+        // given
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        UserDto requesterDto = userService.newUser(new UserDto(null, "requester@mail.com", "requester"));
+        itemRequestService.addItemRequest(user.getId(), new ItemRequestDto(null, "description", dateTime, List.of()));
+        for (int i = 0; i < 10; i++) {
+            ItemRequestDto request = itemRequestService.addItemRequest(requesterDto.getId(),
+                    new ItemRequestDto(null, "description" + i, dateTime, List.of()));
+            em.persist(new Item(null, "item" + i, "itemDescription" + i, true, user.getId(), request.getId()));
+            em.persist(new Item(null, "other" + i, "otherDescription" + i, true, user.getId(), request.getId()));
+        }
+        em.flush();
+
+        // when
+        statistics.clear();
+        itemRequestService.getAllRequestsByUser(user.getId());
+        long oneRequestQueries = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ItemRequestDto> requests = itemRequestService.getAllRequestsByUser(requesterDto.getId());
+        long manyRequestsQueries = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ItemRequestDto> page = itemRequestService.getAllRequests(user.getId(), 0, 20);
+        long pageQueries = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        // then
+        assertThat(requests, hasSize(10));
+        assertThat(requests.get(0).getItems(), hasSize(2));
+        assertThat(page, hasSize(greaterThanOrEqualTo(10)));
+        assertThat(oneRequestQueries, greaterThan(0L));
+        assertThat(manyRequestsQueries, equalTo(oneRequestQueries));
+        // пользователь, страница запросов, число запросов, вещи
+        assertThat(pageQueries, lessThanOrEqualTo(4L));
+    }
+}
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.exception.NullObjectException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -28,6 +32,9 @@ import static org.junit.jupiter.api.Assertions.*;
 class UserServiceImplTest {
     private final EntityManager em;
     private final UserService userService;
+    private final CacheManager cacheManager;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
     @Test
     void newUser() {
@@ -129,6 +136,81 @@ class UserServiceImplTest {
         assertThat(userTest.getName(), equalTo(userDto.getName()));
     }
 
+    @Test
+    void getUserIdCached() {
+        // given
+        UserDto userDto = userService.newUser(makeUserDto("cached@mail.com", "cached"));
+        double hits = cacheGets("hit");
+
+        // when
+        userService.getByUserId(userDto.getId());
+        userService.getByUserId(userDto.getId());
+
+        // then
+        assertThat(cacheManager.getCache(UserRepository.USERS_CACHE).get(userDto.getId()), notNullValue());
+        assertThat(cacheGets("hit"), greaterThan(hits));
+    }
+
+    @Test
+    void updateUserEvictsCache() {
+        // given
+        UserDto userDto = userService.newUser(makeUserDto("evicted@mail.com", "evicted"));
+        userService.getByUserId(userDto.getId());
+
+        // when
+        userService.updateUser(makeUserDto(null, "evictedNew"), userDto.getId());
+
+        // then
+        assertNull(cacheManager.getCache(UserRepository.USERS_CACHE).get(userDto.getId()));
+        assertThat(userService.getByUserId(userDto.getId()).getName(), equalTo("evictedNew"));
+    }
+
+    @Test
+    void deleteUserEvictsCache() {
+        // given
+        UserDto userDto = userService.newUser(makeUserDto("deleted@mail.com", "deleted"));
+        userService.getByUserId(userDto.getId());
+        assertThat(cacheManager.getCache(UserRepository.USERS_CACHE).get(userDto.getId()), notNullValue());
+
+        // when
+        userService.deleteUser(userDto.getId());
+
+        // then
+        assertNull(cacheManager.getCache(UserRepository.USERS_CACHE).get(userDto.getId()));
+        assertThrows(NullObjectException.class, () -> userService.getByUserId(userDto.getId()));
+    }
+
+    /** Запись в обход сервиса тоже сбрасывает кэш **/
+    @Test
+    void repositorySaveEvictsCache() {
+        // given
+        UserDto userDto = userService.newUser(makeUserDto("saved@mail.com", "saved"));
+        userService.getByUserId(userDto.getId());
+
+        // when
+        userRepository.save(new User(userDto.getId(), "savedNew", "saved@mail.com"));
+
+        // then
+        assertNull(cacheManager.getCache(UserRepository.USERS_CACHE).get(userDto.getId()));
+        assertThat(userService.getByUserId(userDto.getId()).getName(), equalTo("savedNew"));
+    }
+
+    /** Кэш выдаёт копии: изменение полученного пользователя не видно следующему вызывающему **/
+    @Test
+    void cachedUserIsCopy() {
+        // given
+        UserDto userDto = userService.newUser(makeUserDto("copy@mail.com", "copy"));
+        User first = userRepository.findById(userDto.getId()).orElseThrow();
+
+        // when
+        first.setName("changed");
+        User second = userRepository.findById(userDto.getId()).orElseThrow();
+
+        // then
+        assertNotSame(first, second);
+        assertThat(second.getName(), equalTo("copy"));
+    }
+
     @Test
     void getUserAll() {
         // given
@@ -189,4 +271,12 @@ class UserServiceImplTest {
     private UserDto makeUserDto(String email, String name) {
         return new UserDto(null, email, name);
     }
-}
\ No newline at end of file
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserRepository.USERS_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.bench;
+
+/**
+ * Объём данных для бенчмарков, переопределяется системными свойствами
+ * shareit.bench.seed, shareit.bench.users, shareit.bench.items, shareit.bench.bookings.
+ **/
+public class SeedConfig {
+    private final long seed;
+    private final int users;
+    private final int items;
+    private final int bookings;
+
+    public SeedConfig(long seed, int users, int items, int bookings) {
+        this.seed = seed;
+        this.users = users;
+        this.items = items;
+        this.bookings = bookings;
+    }
+
+    public static SeedConfig fromSystemProperties() {
+        return new SeedConfig(
+                Long.getLong("shareit.bench.seed", 42L),
+                Integer.getInteger("shareit.bench.users", 10_000),
+                Integer.getInteger("shareit.bench.items", 100_000),
+                Integer.getInteger("shareit.bench.bookings", 1_000_000)
+        );
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getItems() {
+        return items;
+    }
+
+    public int getBookings() {
+        return bookings;
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.bench;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Воспроизводимый генератор данных для бенчмарков.
+ * Одинаковый seed даёт одинаковые пользователей, вещи и бронирования; даты бронирований
+ * задаются смещением от baseTime, поэтому доли текущих/прошлых/будущих аренд не зависят от дня запуска.
+ * Данные пишутся в пустую базу, id пользователей и вещей - 1..N в порядке вставки.
+ **/
+public class SeedDataGenerator {
+    private static final int BATCH_SIZE = 10_000;
+    private static final String[] WORDS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "самокат",
+            "шуруповёрт", "пила", "рюкзак", "байдарка", "проектор", "гитара", "лыжи", "сноуборд", "мангал",
+            "drill", "ladder", "tent", "bike", "camera", "tripod", "kayak", "guitar", "projector", "saw",
+            "инструмент", "toolbox", "toolkit"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SeedConfig config;
+    private final Random random;
+    private long[] itemOwners;
+
+    public SeedDataGenerator(JdbcTemplate jdbcTemplate, SeedConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+        this.random = new Random(config.getSeed());
+    }
+
+    public void generate(LocalDateTime baseTime) {
+        insertUsers();
+        insertItems();
+        insertBookings(baseTime);
+    }
+
+    private void insertUsers() {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= config.getUsers(); i++) {
+            batch.add(new Object[]{"user" + i, "user" + i + "@bench.shareit"});
+            flush(batch, "INSERT INTO users (name_user, email) VALUES (?, ?)", i == config.getUsers());
+        }
+    }
+
+    private void insertItems() {
+        itemOwners = new long[config.getItems() + 1];
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= config.getItems(); i++) {
+            long ownerId = 1 + random.nextInt(config.getUsers());
+            itemOwners[i] = ownerId;
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)];
+            boolean available = random.nextInt(10) != 0;
+            batch.add(new Object[]{name, description, available, ownerId});
+            flush(batch, "INSERT INTO items (name_item, description, is_available, owner_id) VALUES (?, ?, ?, ?)",
+                    i == config.getItems());
+        }
+    }
+
+    private void insertBookings(LocalDateTime baseTime) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= config.getBookings(); i++) {
+            int itemId = 1 + random.nextInt(config.getItems());
+            long bookerId = 1 + random.nextInt(config.getUsers());
+            if (bookerId == itemOwners[itemId]) {
+                bookerId = bookerId % config.getUsers() + 1;
+            }
+            // начало - от года назад до года вперёд, длительность от часа до двух недель
+            LocalDateTime start = baseTime.plusHours(random.nextInt(2 * 365 * 24) - 365 * 24);
+            LocalDateTime end = start.plusHours(1 + random.nextInt(14 * 24));
+            batch.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(end), itemId, bookerId, status()});
+            flush(batch, "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)",
+                    i == config.getBookings());
+        }
+    }
+
+    private String status() {
+        int value = random.nextInt(100);
+        if (value < 60) {
+            return "APPROVED";
+        }
+        if (value < 80) {
+            return "WAITING";
+        }
+        return value < 95 ? "REJECTED" : "CANCELED";
+    }
+
+    private void flush(List<Object[]> batch, String sql, boolean last) {
+        if (batch.size() >= BATCH_SIZE || (last && !batch.isEmpty())) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Контекст сервера на встроенной H2 (или на PostgreSQL из shareit.bench.jdbc-url), заполненный SeedDataGenerator.
+ * Создаётся один раз на форк, бенчмарки берут из него сервисы.
+ **/
+@State(Scope.Benchmark)
+public class SeededServer {
+    private ConfigurableApplicationContext context;
+    private SeedConfig config;
+
+    @Setup
+    public void start() {
+        config = SeedConfig.fromSystemProperties();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN");
+
+        String jdbcUrl = System.getProperty("shareit.bench.jdbc-url");
+        if (jdbcUrl != null) {
+            // внешняя пустая БД PostgreSQL - схема создаётся миграциями Flyway
+            builder.properties(
+                    "spring.datasource.url=" + jdbcUrl,
+                    "spring.datasource.username=" + System.getProperty("shareit.bench.jdbc-user", "root"),
+                    "spring.datasource.password=" + System.getProperty("shareit.bench.jdbc-password", "root")
+            );
+        } else {
+            builder.profiles("test")
+                    .properties("spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        }
+        context = builder.run();
+
+        new SeedDataGenerator(context.getBean(JdbcTemplate.class), config)
+                .generate(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS));
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public SeedConfig getConfig() {
+        return config;
+    }
+}
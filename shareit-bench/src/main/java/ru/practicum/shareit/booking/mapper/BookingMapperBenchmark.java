@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+    private static final int SIZE = 1024;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final Booking[] bookings = new Booking[SIZE];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime dateTime = LocalDateTime.of(2022, 9, 1, 12, 0);
+        StatusBooking[] statuses = {StatusBooking.WAITING, StatusBooking.APPROVED, StatusBooking.REJECTED};
+        for (int i = 0; i < SIZE; i++) {
+            User booker = new User((long) random.nextInt(10_000), "booker" + i, "booker" + i + "@mail.com");
+            Item item = new Item((long) i, "item" + i, "description" + i, true, (long) random.nextInt(10_000), null);
+            LocalDateTime start = dateTime.plusHours(random.nextInt(1000));
+            bookings[i] = new Booking((long) i, start, start.plusDays(1), item, booker,
+                    statuses[random.nextInt(statuses.length)]);
+        }
+    }
+
+    @Benchmark
+    public BookingDto toDto() {
+        index = (index + 1) & (SIZE - 1);
+        return bookingMapper.toDto(bookings[index]);
+    }
+}
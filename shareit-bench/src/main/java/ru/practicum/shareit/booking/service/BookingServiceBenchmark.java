@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.bench.SeededServer;
+import ru.practicum.shareit.booking.StatusBooking;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Выборка бронирований по состоянию на заполненной H2 **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookingServiceBenchmark {
+    private static final int USERS = 1024;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private StatusBooking state;
+
+    private final long[] userIds = new long[USERS];
+    private BookingService bookingService;
+    private int index;
+
+    @Setup
+    public void setUp(SeededServer server) {
+        Random random = new Random(server.getConfig().getSeed());
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = 1 + random.nextInt(server.getConfig().getUsers());
+        }
+        bookingService = server.getBean(BookingService.class);
+    }
+
+    @Benchmark
+    public List<BookingDto> ownerPage() {
+        return bookingService.getAllByUserOwner(nextUser(), state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookerPage() {
+        return bookingService.getAllBookingsByUser(nextUser(), state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BookingSliceDto ownerSlice() {
+        return bookingService.getAllByUserOwner(nextUser(), state, "", PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BookingSliceDto bookerSlice() {
+        return bookingService.getAllBookingsByUser(nextUser(), state, "", PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BookingSummaryDto ownerSummary() {
+        return bookingService.getOwnerSummary(nextUser());
+    }
+
+    private long nextUser() {
+        index = (index + 1) & (USERS - 1);
+        return userIds[index];
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    @Param({"0", "5", "50"})
+    private int comments;
+
+    private Item item;
+    private ItemBookingSummary summary;
+    private List<Comment> commentList;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime dateTime = LocalDateTime.of(2022, 9, 1, 12, 0);
+        User author = new User(2L, "author", "author@mail.com");
+        item = new Item(1L, "item", "description", true, 1L, null);
+
+        summary = new ItemBookingSummary(item.getId());
+        summary.setLastBookingId(1L);
+        summary.setLastBookerId(author.getId());
+        summary.setLastStart(dateTime.minusDays(2));
+        summary.setLastEnd(dateTime.minusDays(1));
+        summary.setNextBookingId(2L);
+        summary.setNextBookerId(author.getId());
+        summary.setNextStart(dateTime.plusDays(1));
+        summary.setNextEnd(dateTime.plusDays(2));
+
+        commentList = new ArrayList<>();
+        for (int i = 0; i < comments; i++) {
+            commentList.add(new Comment((long) i, "comment" + i, item, author, Instant.EPOCH.plusSeconds(i)));
+        }
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemDto toItemDtoWithBookings() {
+        return ItemMapper.toItemDto(item, summary, commentList);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.bench.SeededServer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск подстроки: upper() like (getItemByName) против lower() like по триграммным индексам
+ * (getItemBySubstring) на 1M вещей. Индексы есть только в PostgreSQL:
+ * -jvmArgsAppend -Dshareit.bench.jdbc-url=jdbc:postgresql://localhost:5432/shareit_bench
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dshareit.bench.items=1000000", "-Dshareit.bench.bookings=0"})
+public class ItemSearchBenchmark {
+    @Param({"дрел", "tool", "байдарка"})
+    private String text;
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private ItemRepository itemRepository;
+    private PageRequest page;
+
+    @Setup
+    public void setUp(SeededServer server) {
+        itemRepository = server.getBean(ItemRepository.class);
+        page = PageRequest.of(0, size);
+    }
+
+    @Benchmark
+    public List<Item> like() {
+        return itemRepository.getItemByName("%" + text + "%", page);
+    }
+
+    @Benchmark
+    public List<Item> trigram() {
+        return itemRepository.getItemBySubstring(TrigramItemSearch.toPattern(text), page);
+    }
+}
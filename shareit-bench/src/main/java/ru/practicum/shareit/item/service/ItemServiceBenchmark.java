@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.bench.SeededServer;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemServiceBenchmark {
+    private static final int OWNERS = 1024;
+
+    /** Список вещей владельца в случайном порядке, у части вещей нет следующего бронирования **/
+    @State(Scope.Thread)
+    public static class Items {
+        @Param({"10", "100", "1000"})
+        private int size;
+
+        private List<ItemDto> items;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            LocalDateTime dateTime = LocalDateTime.of(2022, 9, 1, 12, 0);
+            items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ItemDto itemDto = new ItemDto((long) i, "item" + i, "description" + i, true);
+                if (random.nextInt(4) != 0) {
+                    ItemDto.Booking next = new ItemDto.Booking();
+                    next.setId((long) i);
+                    next.setStart(dateTime.plusMinutes(random.nextInt(100_000)));
+                    itemDto.setNextBooking(next);
+                }
+                items.add(itemDto);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Owners {
+        private final long[] ownerIds = new long[OWNERS];
+        private ItemService itemService;
+        private int index;
+
+        @Setup
+        public void setUp(SeededServer server) {
+            Random random = new Random(server.getConfig().getSeed());
+            for (int i = 0; i < OWNERS; i++) {
+                ownerIds[i] = 1 + random.nextInt(server.getConfig().getUsers());
+            }
+            itemService = server.getBean(ItemService.class);
+        }
+
+        long next() {
+            index = (index + 1) & (OWNERS - 1);
+            return ownerIds[index];
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> sortByNextBooking(Items state) {
+        List<ItemDto> items = new ArrayList<>(state.items);
+        items.sort(ItemServiceImpl.NEXT_BOOKING_ORDER);
+        return items;
+    }
+
+    @Benchmark
+    public List<ItemDto> getByUserIdItemAll(Owners owners) {
+        long ownerId = owners.next();
+        return owners.itemService.getByUserIdItemAll(ownerId);
+    }
+}